@@ -0,0 +1,88 @@
+package com.example.ganttchartview.core;
+
+import android.app.Instrumentation;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.ganttchartview.model.GanttMetrics;
+import com.example.ganttchartview.model.GanttTask;
+import com.example.ganttchartview.model.TimeScale;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * {@link GanttChartView} redraws, observed through the metrics every
+ * finished layout reports.
+ */
+@RunWith(AndroidJUnit4.class)
+public class GanttChartViewTest {
+
+    private final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+    private final BlockingQueue<GanttMetrics> redraws = new LinkedBlockingQueue<>();
+    private GanttChartView chart;
+
+    @Before
+    public void createChart() {
+        instrumentation.runOnMainSync(() -> {
+            chart = new GanttChartView(instrumentation.getTargetContext());
+            chart.setOnRenderMetricsListener(redraws::add);
+        });
+    }
+
+    /** Runs {@code change} on the main thread and waits for the redraw it schedules. */
+    private GanttMetrics redraw(Runnable change) throws InterruptedException {
+        redraws.clear();
+        instrumentation.runOnMainSync(change);
+        GanttMetrics m = redraws.poll(5, TimeUnit.SECONDS);
+        assertNotNull("no redraw", m);
+        return m;
+    }
+
+    private static GanttTask task(String title, int startHour, String who) {
+        Calendar c = Calendar.getInstance();
+        c.set(Calendar.HOUR_OF_DAY, startHour);
+        c.set(Calendar.MINUTE, 0);
+        Date start = c.getTime();
+        c.add(Calendar.HOUR_OF_DAY, 1);
+        return new GanttTask(title, start, c.getTime(), 0, "", who);
+    }
+
+    @Test
+    public void setter_edits_regroup_on_an_axis_only_redraw() throws Exception {
+        GanttTask ann = task("a", 9, "Ann"), bob = task("b", 12, "Bob");
+        assertEquals(2, redraw(() -> chart.setTasks(Arrays.asList(ann, bob))).getRowCount());
+        assertEquals(1, redraw(() -> chart.filterByUser("Ann")).getTaskCount());
+
+        GanttMetrics m = redraw(() -> {
+            ann.setAssignedTo("Bob");           // no notifyTaskChanged
+            chart.setTimeRange(7, 21);
+        });
+        assertEquals(0, m.getTaskCount());      // no longer Ann's
+        assertEquals(0, m.getRowCount());
+
+        assertEquals(2, redraw(chart::clearFilter).getTaskCount());
+        m = redraw(() -> {
+            bob.setAssignedTo("Cy");
+            chart.setTimeScale(TimeScale.HOUR);
+        });
+        assertEquals(2, m.getRowCount());       // Bob's lane and Cy's, one track each
+        m = redraw(() -> {
+            bob.setAssignedTo("Bob");
+            chart.setTimeScale(TimeScale.DAY);
+        });
+        assertEquals(1, m.getRowCount());       // both in Bob's lane, not overlapping
+    }
+}
@@ -4,10 +4,11 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Color;
 import android.graphics.Rect;
-import android.text.TextUtils;
+import android.os.Trace;
 import android.util.AttributeSet;
 import android.util.TypedValue;
 import android.view.LayoutInflater;
+import android.view.Choreographer;
 import android.view.MotionEvent;
 import android.view.ScaleGestureDetector;
 import android.view.View;
@@ -31,29 +32,53 @@ import androidx.core.view.AccessibilityDelegateCompat;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 
+import com.example.ganttchartview.core.index.FilterEngine;
+import com.example.ganttchartview.core.index.TaskGroupIndex;
+import com.example.ganttchartview.core.index.TaskIntervalIndex;
+import com.example.ganttchartview.core.layout.ChartLayout;
+import com.example.ganttchartview.core.layout.DensityRuns;
 import com.example.ganttchartview.core.layout.GridPainter;
+import com.example.ganttchartview.core.layout.LayoutEngine;
+import com.example.ganttchartview.core.layout.LayoutStats;
 import com.example.ganttchartview.core.layout.TaskBlockFactory;
+import com.example.ganttchartview.core.layout.TaskBlockPool;
+import com.example.ganttchartview.core.layout.TimeAxis;
+import com.example.ganttchartview.core.layout.TimelineWindow;
+import com.example.ganttchartview.core.layout.VirtualRowLayout;
+import com.example.ganttchartview.core.render.ChartCanvasView;
+import com.example.ganttchartview.core.render.GridTileCache;
+import com.example.ganttchartview.core.render.TimelineHeaderView;
+import com.example.ganttchartview.core.schedule.CriticalPathEngine;
+import com.example.ganttchartview.core.schedule.ResourceLoadEngine;
 import com.example.ganttchartview.core.ui.DialogStyler;
+import com.example.ganttchartview.listener.OnRenderMetricsListener;
 import com.example.ganttchartview.listener.OnTaskClickListener;
+import com.example.ganttchartview.model.Dependency;
+import com.example.ganttchartview.model.GanttMetrics;
 import com.example.ganttchartview.model.GanttTask;
 import com.example.ganttchartview.listener.OnTaskActionListener;
 import com.example.ganttchartview.R;
+import com.example.ganttchartview.model.RenderMode;
 import com.example.ganttchartview.model.TaskColor;
+import com.example.ganttchartview.model.TaskFilter;
+import com.example.ganttchartview.model.TaskStore;
 import com.example.ganttchartview.model.TimeScale;
 
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
 
-import com.example.ganttchartview.core.layout.TrackPacker;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.snackbar.Snackbar;
@@ -63,13 +88,27 @@ import com.google.android.material.snackbar.Snackbar;
  * (and a stub MONTH) scales.  All visual parameters can be tweaked
  * via XML attributes: {@code rowHeight}, {@code unitWidth},
  * {@code labelTextSize}, {@code gridColor}, {@code taskPressedColor},
- * and {@code timeScale}.
+ * {@code timeScale} and {@code renderMode}.
+ * <p>
+ * The chart body is painted by a single {@link ChartCanvasView} by default
+ * ({@link RenderMode#CANVAS}); {@link RenderMode#VIEWS} keeps the original
+ * View-per-cell / View-per-block tree.
+ * <p>
+ * {@link #setInfiniteTimeline(boolean)} replaces the fixed column range with
+ * an unbounded, continuously scrollable axis (always canvas-rendered).
  */
 public class GanttChartView extends HorizontalScrollView {
 
-    private final List<GanttTask> allTasks = new ArrayList<>();
-    private Predicate<GanttTask> filterPredicate = t -> true;   // show all
+    private final TaskStore taskStore = new TaskStore();                  // columnar; tasks are handles into it
+    private final TaskIntervalIndex timeIndex = new TaskIntervalIndex();   // kept in step with taskStore
+    private final TaskGroupIndex groupIndex = new TaskGroupIndex();      // swimlane / colour buckets
+    private final CriticalPathEngine schedule = new CriticalPathEngine(); // dependency links + CPM
+    private final ResourceLoadEngine load = new ResourceLoadEngine();     // per-swimlane concurrency
+    private boolean utilizationStrip = false;
+    private final FilterEngine filterEngine = new FilterEngine(taskStore, timeIndex);
+    private TaskFilter taskFilter = TaskFilter.all();   // show all
     private boolean hasFilter = false;  // track if filter is active
+    private int groupedModCount = -1;   // store version the last grouping was built from
 
     private int customStartHour = 8;   // first visible hour (DAY scale)
     private int customEndHour = 20;  // last visible hour  (DAY scale)
@@ -88,18 +127,61 @@ public class GanttChartView extends HorizontalScrollView {
     private ScaleGestureDetector scaleDetector;
     private static final int MIN_UNIT_DP = 60;
     private static final int MAX_UNIT_DP = 240;
+    private static final long ZOOM_SETTLE_MS = 180;  // pause before a mid-pinch relayout
+    private static final float DENSITY_MIN_ALPHA = 0.35f; // lightest LOD heat bar
+    private float zoomWidth;                         // live unit width while pinching, px
+    private final Runnable commitZoom = this::commitZoom;
+
+    private boolean infiniteTimeline = false;
+    private long timelineAnchorMs;                   // column 0 of the continuous axis
+    private final TimelineWindow timelineWindow = new TimelineWindow();
+    private static final long RECENTRE_IDLE_MS = 120; // scroll pause before the window moves
+    private final Runnable recentreTimeline = this::recentreTimeline;
+    private int pendingScrollX = -1;                 // applied after the next layout pass
+
+    /** Default cap on calendar-axis columns ({@link #setMaxDatedColumns}). */
+    public static final int DEFAULT_MAX_DATED_COLUMNS = 1000;
+
+    private boolean anchored = false;                // DAY / MONTH on a calendar axis from anchorMs
+    private long anchorMs;
+    private TimeAxis datedAxis;                      // last calendar axis, rebuilt when its range changes
+    private long datedAxisAnchorMs;
+    private int maxDatedColumns = DEFAULT_MAX_DATED_COLUMNS;
+    private int datedColumnsCut;                     // columns the cap left off the last calendar axis
+
+    private static final int DIRTY_HEADER = 1;            // column header cells
+    private static final int DIRTY_GROUPING = 1 << 1;     // task list / filter – regroup and repack
+    private static final int DIRTY_PACKING = 1 << 2;      // time axis – repack the existing groups
+    private static final int DIRTY_GEOMETRY = 1 << 3;     // unit width / renderer – re-apply the layout
+    private int dirty;
+    private boolean redrawScheduled;
+    private final Choreographer.FrameCallback redrawFrame = frameTimeNanos -> flushRedraw();
 
 
     private TimeScale timeScale = TimeScale.DAY;
+    private RenderMode renderMode = RenderMode.CANVAS;
     private static final String[] MONTH_NAMES = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
 
     private LinearLayoutCompat headerRow;
-    private LinearLayoutCompat gridContainer;
+    private TimelineHeaderView timelineHeader;
+    private VirtualRowLayout gridContainer;
+    private ChartCanvasView chartCanvas;
+    private ChartLayout chartLayout = ChartLayout.EMPTY;
+    private final LayoutEngine layoutEngine = new LayoutEngine();
+    private boolean scrollToEndOnLayout = false;
+    private final TaskBlockPool blockPool = new TaskBlockPool();
+    private final GridTileCache gridTiles = new GridTileCache();   // shared by both renderers
     private ScrollView vScroll;
 
     private OnTaskClickListener onTaskClickListener;
     private OnTaskActionListener onTaskActionListener;
 
+    private OnRenderMetricsListener metricsListener;
+    private GanttMetrics metrics = GanttMetrics.EMPTY;
+    private long headerNanos;           // header rebuilds since the last redraw
+    private int viewsCreated;           // header cells, rows and density bars since the last redraw
+    private long blockMissesReported;   // pool misses already counted
+
     /**
      * Constructs a GanttChartView with the given context.
      * @param context The context to use.
@@ -141,7 +223,7 @@ public class GanttChartView extends HorizontalScrollView {
         applyXmlAttrs(ctx, attrs);
         buildUi(ctx);
         initPinchZoom(ctx);
-        drawHeaderRow();
+        invalidateChart(DIRTY_HEADER);
     }
 
     /**
@@ -154,37 +236,100 @@ public class GanttChartView extends HorizontalScrollView {
         if (attrs == null) return;
         try (TypedArray a = ctx.obtainStyledAttributes(attrs, R.styleable.GanttChartView)) {
             timeScale = TimeScale.fromAttrIndex(a.getInt(R.styleable.GanttChartView_timeScale, 0));
+            renderMode = RenderMode.fromAttrIndex(a.getInt(R.styleable.GanttChartView_renderMode, 0));
             rowHeight = a.getDimensionPixelSize(R.styleable.GanttChartView_rowHeight, rowHeight);
             labelTextSize = a.getDimension(R.styleable.GanttChartView_labelTextSize, labelTextSize);
             hourWidth = unitWidth = a.getDimensionPixelSize(R.styleable.GanttChartView_unitWidth, unitWidth);
             gridColor = a.getColor(R.styleable.GanttChartView_gridColor, gridColor);
             taskPressedColor = a.getColor(R.styleable.GanttChartView_taskPressedColor, taskPressedColor);
             headerTextSize = a.getDimension(R.styleable.GanttChartView_headerTextSize, headerTextSize);
+            String anchor = a.getString(R.styleable.GanttChartView_anchorDate);
+            if (anchor != null) {
+                anchorMs = parseAnchorDate(anchor);
+                anchored = true;
+            }
+        }
+    }
+
+    /**
+     * Parses the {@code anchorDate} attribute: an ISO {@code yyyy-MM-dd} date,
+     * taken as local midnight.
+     */
+    private static long parseAnchorDate(String value) {
+        try {
+            return LocalDate.parse(value.trim()).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("anchorDate must be yyyy-MM-dd: " + value, e);
         }
     }
 
     /**
-     * Initializes pinch-to-zoom gesture detection.
+     * Initializes pinch-to-zoom gesture detection.  While the pinch runs only a
+     * horizontal scale transform is applied to the header and chart body; the
+     * real relayout at the new unit width happens once, when the gesture ends
+     * or the fingers pause for {@link #ZOOM_SETTLE_MS}.
      * @param ctx The context.
      */
     private void initPinchZoom(Context ctx) {
         scaleDetector = new ScaleGestureDetector(ctx, new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+            @Override
+            public boolean onScaleBegin(@NonNull ScaleGestureDetector detector) {
+                zoomWidth = hourWidth;
+                return true;
+            }
+
             @Override
             public boolean onScale(@NonNull ScaleGestureDetector detector) {
-                float newPx = hourWidth * detector.getScaleFactor();
+                float newPx = zoomWidth * detector.getScaleFactor();
                 float dp = newPx / getResources().getDisplayMetrics().density;
                 dp = Math.max(MIN_UNIT_DP, Math.min(MAX_UNIT_DP, dp));
-                newPx = dp * getResources().getDisplayMetrics().density;
-                if ((int) newPx != hourWidth) {
-                    hourWidth = unitWidth = (int) newPx;
-                    drawHeaderRow();
-                    drawGrid();
-                }
+                zoomWidth = dp * getResources().getDisplayMetrics().density;
+
+                applyZoomPreview(zoomWidth / hourWidth);
+                removeCallbacks(commitZoom);
+                postDelayed(commitZoom, ZOOM_SETTLE_MS);
                 return true;
             }
+
+            @Override
+            public void onScaleEnd(@NonNull ScaleGestureDetector detector) {
+                commitZoom();
+            }
         });
     }
 
+    /**
+     * Stretches the already-built header and body around the start of the time
+     * axis – a RenderNode property change, no re-measure or re-draw of content.
+     * @param scale Horizontal factor relative to the committed unit width.
+     */
+    private void applyZoomPreview(float scale) {
+        View body = vScroll.getChildAt(0);
+        for (View v : new View[]{headerRow, timelineHeader, body}) {
+            if (v == null) continue;
+            v.setPivotX(labelWidth);
+            v.setPivotY(0);
+            v.setScaleX(scale);
+        }
+    }
+
+    /**
+     * Drops the preview transform and relays out once at the pinched unit width.
+     */
+    private void commitZoom() {
+        removeCallbacks(commitZoom);
+        applyZoomPreview(1f);
+
+        int px = (int) zoomWidth;
+        if (px > 0 && px != hourWidth) {
+            float leftCol = (getScrollX() - labelWidth) / (float) hourWidth;
+            hourWidth = unitWidth = px;
+            // packed layout is in column units – no regroup / repack needed
+            invalidateChart(DIRTY_HEADER | DIRTY_GEOMETRY);
+            if (infiniteTimeline) pendingScrollX = labelWidth + Math.round(leftCol * hourWidth);
+        }
+    }
+
     /**
      * Builds the UI layout for the Gantt chart.
      * @param ctx The context.
@@ -207,18 +352,71 @@ public class GanttChartView extends HorizontalScrollView {
         });
         outer.addView(headerRow);
 
+        timelineHeader = new TimelineHeaderView(ctx);
+        timelineHeader.setVisibility(GONE);
+        outer.addView(timelineHeader);
+
         vScroll = new ScrollView(ctx);
         vScroll.setVerticalScrollBarEnabled(false);
 
-        gridContainer = new LinearLayoutCompat(ctx);
-        gridContainer.setOrientation(LinearLayoutCompat.VERTICAL);
+        gridContainer = new VirtualRowLayout(ctx);
+        gridContainer.setAdapter(new VirtualRowLayout.Adapter() {
+            @Override
+            public View createRow(ViewGroup parent) {
+                viewsCreated += 3;      // row, label, overlay
+                return GridPainter.buildRow(getContext(), chartLayout.getColumnCount(), labelWidth, rowHeight, hourWidth,
+                        gridTiles.tile(rowHeight, hourWidth, gridColor));
+            }
+
+            @Override
+            public void bindRow(View row, int position) {
+                bindRowView((LinearLayoutCompat) row, position);
+            }
+
+            @Override
+            public Object getRowKey(int position) {
+                return chartLayout.getRow(position);    // rows of unchanged tracks are reused by identity
+            }
+
+            @Override
+            public void moveRow(View row, int position) {
+                row.setBackgroundColor(GridPainter.zebraColor(position));
+            }
 
-        vScroll.addView(gridContainer);
+            @Override
+            public void recycleRow(View row) {
+                // row is dropped for good – cells go with it, blocks go back to the pool
+                blockPool.releaseChildren(GridPainter.overlayOf((LinearLayoutCompat) row), 0);
+            }
+        });
+        vScroll.setOnScrollChangeListener((v, x, y, oldX, oldY) -> gridContainer.fillViewport());
+
+        chartCanvas = new ChartCanvasView(ctx);
+        chartCanvas.setGridTiles(gridTiles);
+        chartCanvas.setColors(gridColor, taskPressedColor);
+        chartCanvas.setLoad(utilizationStrip ? load : null);
+
+        attachBody();
         outer.addView(vScroll);
 
         addView(outer);
     }
 
+    /**
+     * Puts the active renderer into the vertical scroller.
+     */
+    private void attachBody() {
+        View body = usesCanvas() ? chartCanvas : gridContainer;
+        if (vScroll.getChildCount() == 1 && vScroll.getChildAt(0) == body) return;
+        vScroll.removeAllViews();
+        vScroll.addView(body);
+    }
+
+    /** The infinite timeline has no View-per-block path. */
+    private boolean usesCanvas() {
+        return renderMode == RenderMode.CANVAS || infiniteTimeline;
+    }
+
     /**
      * Handles touch events, including pinch-to-zoom and click.
      * @param ev The motion event.
@@ -250,19 +448,49 @@ public class GanttChartView extends HorizontalScrollView {
      * @param t The {@link GanttTask} to add.
      */
     public void addTask(GanttTask t) {
-        allTasks.add(t);
-        drawGrid();
-        post(() -> vScroll.smoothScrollTo(0, vScroll.getChildAt(0).getBottom()));
+        taskStore.add(t);
+        timeIndex.add(t);
+        groupIndex.add(t);
+        schedule.addTask(t);
+        load.add(t);
+        scrollToEndOnLayout = true;
+        invalidateChart(DIRTY_GROUPING);
+    }
+
+    /**
+     * Adds many tasks at once, e.g. from an import: every index is updated
+     * incrementally and the chart is laid out once for the whole batch,
+     * without scrolling.
+     * @param batch Tasks to append, in order
+     */
+    public void addTasks(Collection<GanttTask> batch) {
+        if (batch.isEmpty()) return;
+        taskStore.addAll(batch);
+        for (GanttTask t : batch) {
+            timeIndex.add(t);
+            groupIndex.add(t);
+            schedule.addTask(t);
+            load.add(t);
+        }
+        invalidateChart(DIRTY_GROUPING);
     }
 
     /**
      * Draws the header row (time, days, or months) based on the current time scale.
      */
     private void drawHeaderRow() {
+        Trace.beginSection(GanttMetrics.TRACE_HEADER);
+        long t0 = System.nanoTime();
         headerRow.removeAllViews();
         int cellH = rowHeight;    // ← use same height as grid rows
+        boolean windowed = usesTimelineHeader();
+        headerRow.setVisibility(windowed ? GONE : VISIBLE);
+        timelineHeader.setVisibility(windowed ? VISIBLE : GONE);
+
+        if (windowed) {         // infinite timeline: applyLayout sets axis and window
+            if (!infiniteTimeline) showDatedHeader(currentAxis());
 
-        if (timeScale == TimeScale.HOUR) {
+        } else if (timeScale == TimeScale.HOUR) {
             for (int h = customStartHour; h <= customEndHour; h++) {
                 GridPainter.addHeaderCell(getContext(), headerRow, String.format(Locale.getDefault(), "%02d:00", h), hourWidth, headerTextSize, cellH);
             }
@@ -278,55 +506,417 @@ public class GanttChartView extends HorizontalScrollView {
                 GridPainter.addHeaderCell(getContext(), headerRow, MONTH_NAMES[m - 1], hourWidth, headerTextSize, cellH);
             }
         }
+        viewsCreated += headerRow.getChildCount();
+        headerNanos += System.nanoTime() - t0;
+        Trace.endSection();
+    }
+
+    /**
+     * The infinite timeline and the calendar axis can run to hundreds of
+     * columns, so their header is one {@link TimelineHeaderView} drawing only
+     * the visible cells; the short classic ranges keep a cell View per column.
+     */
+    private boolean usesTimelineHeader() {
+        return infiniteTimeline || (anchored && timeScale != TimeScale.HOUR);
+    }
+
+    /** Spans the windowed header over every column of the calendar axis. */
+    private void showDatedHeader(TimeAxis axis) {
+        timelineHeader.setAxis(axis);
+        timelineHeader.setGeometry(labelWidth, hourWidth, rowHeight, headerTextSize);
+        timelineHeader.setWindow(0, axis.columnCount);
+    }
+
+    /**
+     * Marks parts of the chart stale and schedules a single rebuild on the next
+     * display frame.  Any number of mutations before that frame (e.g. a host
+     * calling {@code setTimeScale}, {@code setMonthRange} and {@code setFilter}
+     * in a row) collapse into one pass that only redoes the dirty stages.
+     * @param flags {@code DIRTY_*} bits
+     */
+    private void invalidateChart(int flags) {
+        dirty |= flags;
+        if (!redrawScheduled) {
+            redrawScheduled = true;
+            Choreographer.getInstance().postFrameCallback(redrawFrame);
+        }
+    }
+
+    /**
+     * Frame callback: rebuilds whatever {@link #invalidateChart} marked, in
+     * pipeline order, and clears the flags.
+     */
+    private void flushRedraw() {
+        redrawScheduled = false;
+        int d = dirty;
+        dirty = 0;
+
+        if ((d & DIRTY_HEADER) != 0) drawHeaderRow();
+        if ((d & (DIRTY_GROUPING | DIRTY_PACKING)) != 0) {
+            drawGrid((d & DIRTY_GROUPING) != 0);    // geometry is applied with the new layout
+        } else if ((d & DIRTY_GEOMETRY) != 0) {
+            applyLayout();
+        }
+    }
+
+    /**
+     * Re-draws the chart (HOUR / DAY / MONTH) based on the current filter and time scale.
+     * Grouping, packing and axis mapping run in {@link LayoutEngine} (off the UI thread
+     * for large plans); the finished snapshot is swapped in by {@link #onLayoutReady}.
+     * The new layout is diffed against the previous one: only swimlanes whose tasks
+     * changed are re-packed, and only tracks whose blocks changed are re-bound.
+     * @param regroup false when only the time axis changed – the last grouping is reused,
+     *                unless tasks were edited in place since it was built
+     */
+    private void drawGrid(boolean regroup) {
+        boolean edited = reindexEdited();
+        if (taskStore.isSparse()) taskStore.compact();     // skipped while a layout pass reads tasks
+        if (edited || taskStore.getModCount() != groupedModCount) regroup = true;   // setters mark nothing dirty
+        groupedModCount = taskStore.getModCount();
+        Predicate<GanttTask> accept = null;
+        if (hasFilter) {                    // bitmap over store slots; tasks held elsewhere are tested directly
+            BitSet bits = filterEngine.resolve(taskFilter);
+            TaskFilter f = taskFilter;
+            accept = t -> {
+                int slot = taskStore.slotOf(t);
+                return slot >= 0 ? bits.get(slot) : f.test(t);
+            };
+        }
+        TimeAxis axis = currentAxis();
+        if (axis.dated) {                   // task range may have grown or shrunk; no-ops otherwise
+            timelineHeader.setAxis(axis);
+            timelineHeader.setWindow(0, axis.columnCount);
+        }
+        layoutEngine.submitGroups(groupIndex.groups(), accept, axis, regroup, this::onLayoutReady);
+    }
+
+    /**
+     * Column mapping for the current scale: the continuous axis anchored at
+     * {@link #timelineAnchorMs}, the calendar axis from {@link #anchorMs}, or
+     * the classic fixed range.
+     */
+    private TimeAxis currentAxis() {
+        if (infiniteTimeline) return TimeAxis.continuous(timeScale, timelineAnchorMs);
+        if (anchored && timeScale != TimeScale.HOUR) return datedAxis();
+        return TimeAxis.fixed(timeScale, customStartHour, getColumnCount());
+    }
+
+    /**
+     * Calendar axis from the anchor through the latest task end (at least a
+     * week / a year), capped at {@link #maxDatedColumns}.  Its boundary table is only rebuilt when the scale,
+     * anchor or column count changes.
+     */
+    private TimeAxis datedAxis() {
+        int min = timeScale == TimeScale.DAY ? 7 : 12;
+        int cols = min;
+        long last = timeIndex.maxEnd();
+        if (last != Long.MIN_VALUE) {
+            int lastCol = TimeAxis.continuous(timeScale, anchorMs).columnAt(last);
+            cols = Math.max(min, Math.min(maxDatedColumns, lastCol + 1));
+            datedColumnsCut = Math.max(0, lastCol + 1 - maxDatedColumns);
+        } else {
+            datedColumnsCut = 0;
+        }
+        TimeAxis a = datedAxis;
+        if (a == null || a.scale != timeScale || a.columnCount != cols || datedAxisAnchorMs != anchorMs) {
+            datedAxis = a = TimeAxis.dated(timeScale, anchorMs, cols);
+            datedAxisAnchorMs = anchorMs;
+        }
+        return a;
+    }
+
+    /**
+     * Atomically installs a finished layout snapshot (main thread).
+     * @param layout The packed layout computed by {@link LayoutEngine}.
+     */
+    private void onLayoutReady(ChartLayout layout) {
+        chartLayout = layout;
+
+        Trace.beginSection(GanttMetrics.TRACE_ROWS);
+        long t0 = System.nanoTime();
+        applyLayout();
+        long rowsNanos = System.nanoTime() - t0;
+        Trace.endSection();
+        publishMetrics(layout, rowsNanos);
+
+        if (scrollToEndOnLayout) {
+            scrollToEndOnLayout = false;
+            post(() -> vScroll.smoothScrollTo(0, vScroll.getChildAt(0).getBottom()));
+        }
     }
 
     /**
-     * Re-draws the entire chart (HOUR / DAY / MONTH) based on the current filter and time scale.
+     * Combines the layout pass timings with the UI-thread work done since the
+     * previous redraw and hands the snapshot to the metrics listener.
      */
-    private void drawGrid() {
+    private void publishMetrics(ChartLayout layout, long rowsNanos) {
+        LayoutStats st = layout.getStats();
+        long misses = blockPool.getMissCount();
+        int views = viewsCreated + (int) (misses - blockMissesReported);
+
+        boolean dated = anchored && !infiniteTimeline && timeScale != TimeScale.HOUR;
+        metrics = new GanttMetrics(st.getGroupNanos(), st.getPackNanos(), st.getOffsetAndSpanNanos(),
+                headerNanos, rowsNanos, views, st.getCulledTasks(), st.getTaskCount(), layout.getRowCount(),
+                dated ? datedColumnsCut : 0);
+        headerNanos = 0;
+        viewsCreated = 0;
+        blockMissesReported = misses;
+
+        if (metricsListener != null) metricsListener.onRenderMetrics(metrics);
+    }
 
-        gridContainer.removeAllViews();
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (dirty != 0) invalidateChart(0);     // callback was dropped on detach
+    }
 
-        Map<String, List<GanttTask>> groups = TrackPacker.group(allTasks, filterPredicate);
+    @Override
+    protected void onDetachedFromWindow() {
+        Choreographer.getInstance().removeFrameCallback(redrawFrame);
+        redrawScheduled = false;
+        layoutEngine.cancel();
+        removeCallbacks(recentreTimeline);
+        gridTiles.clear();                      // rendered again by the next draw or row
+        super.onDetachedFromWindow();
+    }
 
-        int zebraRow = 0;
-        int cols = getColumnCount();
+    /**
+     * Hands the current {@link ChartLayout} to the active renderer using the
+     * current geometry (row height, unit width).
+     */
+    private void applyLayout() {
+        if (usesCanvas()) {
+            gridContainer.setRows(0, rowHeight, 0);
+            chartCanvas.setGeometry(labelWidth, rowHeight, hourWidth);
+            if (infiniteTimeline) {
+                timelineHeader.setAxis(currentAxis());
+                timelineHeader.setGeometry(labelWidth, hourWidth, rowHeight, headerTextSize);
+                applyTimelineWindow();
+            } else {
+                chartCanvas.setWindow(0, -1);
+            }
+            chartCanvas.setTimeScale(timeScale);
+            chartCanvas.setListeners(onTaskClickListener, onTaskActionListener);
+            chartCanvas.setLayout(chartLayout);
+        } else {
+            chartCanvas.setLayout(ChartLayout.EMPTY);
+            // only rows inside the vertical viewport (+ prefetch) get Views
+            gridContainer.setRows(chartLayout.getRowCount(), rowHeight, labelWidth + chartLayout.getColumnCount() * hourWidth);
+        }
 
-        for (List<GanttTask> tasks : groups.values()) {
+        updateScrollHeight(chartLayout.getRowCount());
+    }
 
-            tasks.sort(Comparator.comparing(GanttTask::getStart));
+    /* ─── infinite timeline ─────────────────────────────────── */
 
-            Map<GanttTask, Integer> trackOf = TrackPacker.pack(tasks);
-            int trackCount = Collections.max(trackOf.values()) + 1;
+    /**
+     * Horizontal scroll hook: tracks the scroll direction, formats header labels
+     * for the band about to scroll in, and schedules a window recentre for when
+     * scrolling pauses (moving the window mid-fling would fight the scroller).
+     */
+    @Override
+    protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+        super.onScrollChanged(l, t, oldl, oldt);
+        if (!infiniteTimeline || hourWidth <= 0) return;
+
+        timelineWindow.noteScroll(l - oldl);
+        int first = timelineWindow.getFirstColumn();
+        int band = 2 * TimelineWindow.TILE_COLUMNS;
+        if (timelineWindow.getDirection() >= 0) {
+            int right = first + (l + getWidth() - labelWidth) / hourWidth;
+            timelineHeader.prefetch(right + 1, right + band);
+        } else {
+            int left = first + Math.max(0, l - labelWidth) / hourWidth;
+            timelineHeader.prefetch(left - band, left - 1);
+        }
 
-            List<FrameLayout> overlays = GridPainter.buildRows(getContext(), gridContainer, trackCount, cols, labelWidth, rowHeight, hourWidth, gridColor, zebraRow);
+        removeCallbacks(recentreTimeline);
+        postDelayed(recentreTimeline, RECENTRE_IDLE_MS);
+    }
 
-            for (GanttTask t : tasks) {
+    /**
+     * Slides the column window when the viewport came close to one of its
+     * edges and compensates the scroll position, so nothing visibly moves.
+     */
+    private void recentreTimeline() {
+        if (!infiniteTimeline || hourWidth <= 0) return;
+        int x = getScrollX();
+        int firstVisible = Math.max(0, x - labelWidth) / hourWidth;
+        int lastVisible = (x + getWidth() - labelWidth) / hourWidth;
+
+        int shift = timelineWindow.recentre(firstVisible, lastVisible);
+        if (shift == 0) return;
+        applyTimelineWindow();
+        scrollTo(x - shift * hourWidth, 0);     // window size is unchanged – no relayout needed
+    }
 
-                float[] os = TrackPacker.offsetAndSpan(t, timeScale, customStartHour);
-                float off = os[0];
-                float span = Math.min(os[1], cols - off);
-                if (off >= cols || span <= 0) continue;
+    private void applyTimelineWindow() {
+        int first = timelineWindow.getFirstColumn(), count = timelineWindow.getColumnCount();
+        chartCanvas.setWindow(first, count);
+        timelineHeader.setWindow(first, count);
+    }
 
-                int pxLeft = Math.round(off * hourWidth);
-                int pxWidth = Math.max(Math.round(span * hourWidth), dpToPx(3));
+    /**
+     * Enables the unbounded, continuously scrollable time axis.  Only the
+     * visible columns of a sliding window are drawn, so a plan spanning years
+     * scrolls as cheaply as a single week.  Always renders through the canvas,
+     * whatever the {@link RenderMode}; {@link #setTimeRange} / {@link #setMonthRange}
+     * have no effect while it is on.
+     * @param enabled true for the infinite axis, false for the fixed column range
+     */
+    public void setInfiniteTimeline(boolean enabled) {
+        if (enabled == infiniteTimeline) return;
+        infiniteTimeline = enabled;
+        timelineAnchorMs = System.currentTimeMillis();
+
+        attachBody();
+        invalidateChart(DIRTY_HEADER | DIRTY_PACKING);      // header switches with the axis
+        if (enabled) scrollToDate(new Date(timelineAnchorMs));
+        else post(() -> scrollTo(0, 0));
+    }
 
-                Integer track = trackOf.get(t);
-                if (track == null) continue;
+    public boolean isInfiniteTimeline() {
+        return infiniteTimeline;
+    }
 
-                AppCompatTextView block = TaskBlockFactory.build(getContext(), t, pxLeft, pxWidth, rowHeight, taskPressedColor, hourWidth, onTaskClickListener, onTaskActionListener, timeScale);
+    /**
+     * Puts the DAY and MONTH scales on a calendar axis: column 0 is the day /
+     * month containing {@code date}, and columns continue through the latest
+     * task end (at least a week / a year), so tasks from different weeks or
+     * years no longer share the weekday / month-of-year columns.  The HOUR
+     * scale and the infinite timeline are unaffected; {@link #setMonthRange}
+     * has no effect while an anchor is set.
+     * @param date First day / month shown, or null for the classic columns
+     */
+    public void setAnchorDate(@Nullable Date date) {
+        anchored = date != null;
+        if (anchored) anchorMs = date.getTime();
+        invalidateChart(DIRTY_HEADER | DIRTY_PACKING);
+    }
 
-                overlays.get(track).addView(block);
+    /** @return the calendar axis anchor, or null when the classic columns are used */
+    @Nullable
+    public Date getAnchorDate() {
+        return anchored ? new Date(anchorMs) : null;
+    }
 
-                LinearLayoutCompat row = (LinearLayoutCompat) gridContainer.getChildAt(zebraRow + track);
-                AppCompatTextView lbl = (AppCompatTextView) row.getChildAt(0);
-                if (TextUtils.isEmpty(lbl.getText())) lbl.setText(t.getTitle());
-            }
+    /**
+     * Caps the calendar axis ({@link #setAnchorDate}) at {@code max} columns.
+     * Tasks past the last column are culled, and every redraw reports how many
+     * columns were left off in {@link GanttMetrics#getDatedColumnsCut()}; for
+     * plans that long the infinite timeline is usually the better fit.
+     * @param max Column limit, at least 1 (default {@link #DEFAULT_MAX_DATED_COLUMNS})
+     */
+    public void setMaxDatedColumns(int max) {
+        if (max < 1) throw new IllegalArgumentException("max must be positive: " + max);
+        if (max == maxDatedColumns) return;
+        maxDatedColumns = max;
+        if (anchored) invalidateChart(DIRTY_HEADER | DIRTY_PACKING);
+    }
+
+    public int getMaxDatedColumns() {
+        return maxDatedColumns;
+    }
+
+    /**
+     * Packs swimlanes in parallel on a small worker pool once the task list is
+     * large enough to be laid out in the background.  Worth enabling for
+     * datasets of tens of thousands of tasks spread over many swimlanes; the
+     * resulting chart is identical.
+     * @param enabled true to spread packing over the available cores
+     */
+    public void setParallelLayout(boolean enabled) {
+        layoutEngine.setParallel(enabled);
+    }
+
+    public boolean isParallelLayout() {
+        return layoutEngine.isParallel();
+    }
+
+    /**
+     * Scrolls the infinite timeline or the calendar axis ({@link #setAnchorDate})
+     * so {@code date} is at the left edge of the viewport.  Ignored on the
+     * fixed axis.
+     * @param date The date to bring into view.
+     */
+    public void scrollToDate(Date date) {
+        if (date == null) return;
+        if (!infiniteTimeline) {
+            TimeAxis axis = currentAxis();
+            if (!axis.dated) return;
+            int col = Math.max(0, Math.min(axis.columnCount - 1, axis.columnAt(date.getTime())));
+            pendingScrollX = labelWidth + col * hourWidth;
+            requestLayout();
+            return;
+        }
+        int col = currentAxis().columnAt(date.getTime());
+        timelineWindow.centreOn(col);
+        applyTimelineWindow();
+        pendingScrollX = labelWidth + (col - timelineWindow.getFirstColumn()) * hourWidth;
+        requestLayout();        // scrolling before the window is measured would be clamped
+    }
 
-            zebraRow += trackCount;
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        if (pendingScrollX >= 0) {
+            scrollTo(pendingScrollX, 0);
+            pendingScrollX = -1;
         }
+    }
+
+    /** Start of the first visible column on the infinite timeline. */
+    private Date firstVisibleDate() {
+        int col = timelineWindow.getFirstColumn() + Math.max(0, getScrollX() - labelWidth) / Math.max(1, hourWidth);
+        return new Date(currentAxis().columnStartMs(col));
+    }
+
+    /**
+     * {@link RenderMode#VIEWS} path – binds one recycled track row to its
+     * label and task blocks.
+     * @param rowView Row built by {@link GridPainter#buildRow}.
+     * @param position Index into the current {@link ChartLayout}.
+     */
+    private void bindRowView(LinearLayoutCompat rowView, int position) {
+        Trace.beginSection(GanttMetrics.TRACE_ROWS);
+        try {
+            bindRow(rowView, chartLayout.getRow(position), position);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    private void bindRow(LinearLayoutCompat rowView, ChartLayout.Row row, int position) {
+        rowView.setBackgroundColor(GridPainter.zebraColor(position));
+        GridPainter.labelOf(rowView).setText(row.label);
+
+        FrameLayout overlay = GridPainter.overlayOf(rowView);
+        blockPool.releaseChildren(overlay, 0);   // grid is the overlay background – every child is a block
+
+        int minPx = dpToPx(3);
+        DensityRuns lod = row.densityRuns(hourWidth, minPx);
+        if (lod.isMerged()) {       // zoomed out – merge unreadable blocks into heat bars
+            for (int i = 0; i < lod.size; i++) {
+                if (lod.block[i] >= 0) {
+                    addBlockView(overlay, row.blocks.get(lod.block[i]), minPx);
+                } else {
+                    int left = Math.round(lod.start[i] * hourWidth);
+                    int width = Math.max(Math.round((lod.end[i] - lod.start[i]) * hourWidth), minPx);
+                    float alpha = DENSITY_MIN_ALPHA + (1f - DENSITY_MIN_ALPHA) * lod.heat(i, hourWidth, minPx);
+                    viewsCreated++;
+                    overlay.addView(TaskBlockFactory.densityBar(getContext(), left, width, rowHeight, lod.color[i], alpha));
+                }
+            }
+            return;
+        }
+
+        for (ChartLayout.Block b : row.blocks) addBlockView(overlay, b, minPx);
+    }
 
-        updateScrollHeight(zebraRow);
+    private void addBlockView(FrameLayout overlay, ChartLayout.Block b, int minPx) {
+        AppCompatTextView block = TaskBlockFactory.obtain(blockPool, getContext(), b.task, b.leftPx(hourWidth), b.widthPx(hourWidth, minPx), rowHeight, taskPressedColor, hourWidth, onTaskClickListener, onTaskActionListener, timeScale);
+        overlay.addView(block);
     }
 
     /**
@@ -338,8 +928,9 @@ public class GanttChartView extends HorizontalScrollView {
             case HOUR:
                 return customEndHour - customStartHour + 1; // hours
             case DAY:
-                return 7;
+                return anchored && !infiniteTimeline ? datedAxis().columnCount : 7;
             case MONTH:
+                if (anchored && !infiniteTimeline) return datedAxis().columnCount;
                 return customEndHour - customStartHour + 1; // months ❹
             default:
                 return 1;
@@ -402,9 +993,13 @@ public class GanttChartView extends HorizontalScrollView {
      * @param newTasks List of {@link GanttTask} to display. Pass null or empty to clear.
      */
     public void setTasks(List<GanttTask> newTasks) {
-        allTasks.clear();
-        if (newTasks != null) allTasks.addAll(newTasks);
-        drawGrid();
+        taskStore.clear();
+        if (newTasks != null) taskStore.addAll(newTasks);
+        timeIndex.rebuild(taskStore.asList());
+        groupIndex.rebuild(taskStore.asList());
+        schedule.rebuild(taskStore.asList());       // keeps links between tasks still present
+        load.rebuild(taskStore.asList());
+        invalidateChart(DIRTY_GROUPING);
     }
 
     /**
@@ -415,12 +1010,13 @@ public class GanttChartView extends HorizontalScrollView {
     public void setTimeRange(int startHour, int endHour) {
         customStartHour = startHour;
         customEndHour = endHour;
-        drawHeaderRow();
-        drawGrid();
+        invalidateChart(DIRTY_HEADER | DIRTY_PACKING);
     }
 
     /**
-     * Sets the time scale (HOUR, DAY, or MONTH) for the chart.
+     * Sets the time scale (HOUR, DAY, or MONTH) for the chart.  Tasks changed
+     * in place through their setters are re-indexed before the redraw, with
+     * or without {@link #notifyTaskChanged}.
      * @param scale The {@link TimeScale} to use
      */
     public void setTimeScale(TimeScale scale) {
@@ -440,20 +1036,34 @@ public class GanttChartView extends HorizontalScrollView {
         }
 
         if (scale != timeScale) {
+            Date visible = infiniteTimeline ? firstVisibleDate() : null;
             timeScale = scale;
-            drawHeaderRow();
-            drawGrid();
+            invalidateChart(DIRTY_HEADER | DIRTY_PACKING);
+            if (visible != null) scrollToDate(visible);
         }
     }
 
     /**
-     * Sets a custom filter for which tasks are visible in the chart.
+     * Sets a custom filter for which tasks are visible in the chart.  Tasks
+     * changed in place through their setters are re-indexed before the
+     * filter runs, so swimlanes and date criteria see their current values.
      * @param p Predicate to filter tasks. Pass null to show all tasks.
      */
     public void setFilter(Predicate<GanttTask> p) {
-        filterPredicate = (p != null) ? p : (t -> true);
-        hasFilter = (p != null);  // track state explicitly
-        drawGrid();
+        applyFilter(p != null ? TaskFilter.matching(p) : null);
+    }
+
+    /**
+     * Sets a structured filter.  Assignee, colour, duration and date-range
+     * criteria are answered from indexes and combined as bitmaps, so
+     * re-filtering a large chart does not visit every task.
+     * @param f The filter, e.g. {@code TaskFilter.assignee("Bob").and(TaskFilter.minDuration(ms))}.
+     *          Pass null to show all tasks.
+     */
+    public void applyFilter(@Nullable TaskFilter f) {
+        taskFilter = (f != null) ? f : TaskFilter.all();
+        hasFilter = (f != null);  // track state explicitly
+        invalidateChart(DIRTY_GROUPING);
     }
 
     /**
@@ -468,7 +1078,7 @@ public class GanttChartView extends HorizontalScrollView {
      * @param user The user to filter by. Pass null to show all tasks.
      */
     public void filterByUser(String user) {
-        setFilter(t -> user == null || user.equals(t.getAssignedTo()));
+        applyFilter(user != null ? TaskFilter.assignee(user) : TaskFilter.all());
     }
 
     /**
@@ -476,7 +1086,7 @@ public class GanttChartView extends HorizontalScrollView {
      * @param color The color (ARGB int) to filter by.
      */
     public void filterByColor(int color) {
-        setFilter(t -> t.getColor() == color);
+        applyFilter(TaskFilter.color(color));
     }
 
     /**
@@ -485,7 +1095,183 @@ public class GanttChartView extends HorizontalScrollView {
      * @param endDate End date (inclusive)
      */
     public void filterByDateRange(Date startDate, Date endDate) {
-        setFilter(t -> t.getStart().after(startDate) && t.getEnd().before(endDate));
+        applyFilter(TaskFilter.within(startDate, endDate));
+    }
+
+    /**
+     * Tasks overlapping {@code [from, to]}, ordered by start time, answered
+     * from the time index in O(log n + k).
+     * @param from Range start (inclusive)
+     * @param to Range end (inclusive)
+     * @return Matching tasks, ignoring the current filter
+     */
+    public List<GanttTask> getTasksBetween(Date from, Date to) {
+        reindexEdited();
+        return timeIndex.overlapping(from.getTime(), to.getTime());
+    }
+
+    /**
+     * First task starting at or after {@code date}.
+     * @param date Point in time
+     * @return The task, or null if none starts that late
+     */
+    @Nullable
+    public GanttTask getFirstTaskAfter(Date date) {
+        reindexEdited();
+        return timeIndex.firstStartingAtOrAfter(date.getTime());
+    }
+
+    /**
+     * Re-indexes a task whose start / end, assignee, title or colour was
+     * changed in place by the host, updates the critical-path schedule of
+     * the tasks it influences, and redraws.
+     * <p>
+     * Edits made through the setters of a task on this chart are also
+     * picked up by the next redraw or query on their own; this call is
+     * still needed for a task whose values another chart holds, and to
+     * redraw straight away.
+     * @param t The modified {@link GanttTask}
+     */
+    public void notifyTaskChanged(GanttTask t) {
+        reindexEdited();
+        if (taskStore.slotOf(t) < 0) reindex(t);        // edits land in another chart's store
+        invalidateChart(DIRTY_GROUPING);
+    }
+
+    /**
+     * Brings every index up to date with tasks edited through their setters since the last call.
+     * @return true if any task was re-indexed
+     */
+    private boolean reindexEdited() {
+        BitSet edited = taskStore.takeEdited();
+        boolean any = false;
+        for (int s = edited.nextSetBit(0); s >= 0; s = edited.nextSetBit(s + 1)) {
+            GanttTask t = taskStore.taskAt(s);
+            if (t == null) continue;
+            reindex(t);
+            any = true;
+        }
+        return any;
+    }
+
+    private void reindex(GanttTask t) {
+        if (timeIndex.contains(t)) timeIndex.update(t);
+        groupIndex.update(t, taskStore.asList());
+        schedule.taskChanged(t);
+        load.update(t);
+    }
+
+    /**
+     * Shows a thin strip along the top of every swimlane, shaded by how many
+     * of its tasks run at the same time and red where that exceeds
+     * {@link #setResourceCapacity the capacity}.  Canvas renderer only.
+     * @param enabled true to show the strips
+     */
+    public void setUtilizationStrip(boolean enabled) {
+        utilizationStrip = enabled;
+        if (chartCanvas != null) chartCanvas.setLoad(enabled ? load : null);
+    }
+
+    public boolean isUtilizationStrip() {
+        return utilizationStrip;
+    }
+
+    /**
+     * Sets how many tasks one assignee may run at once before the time is
+     * reported as overloaded (default 1).
+     * @param maxConcurrent Concurrent tasks allowed per swimlane, at least 1
+     */
+    public void setResourceCapacity(int maxConcurrent) {
+        load.setCapacity(maxConcurrent);
+        if (chartCanvas != null) chartCanvas.invalidate();
+    }
+
+    /**
+     * Double-booked intervals of one assignee (or of an unassigned task's
+     * title swimlane), ignoring the current filter.
+     * @param assignee Swimlane key
+     * @return Maximal overloaded intervals in time order
+     */
+    public List<ResourceLoadEngine.Overload> getOverloads(String assignee) {
+        reindexEdited();
+        return load.overloads(assignee);
+    }
+
+    /**
+     * Assignees overloaded anywhere on the chart.  Only swimlanes edited
+     * since the last call are re-checked.
+     * @return Swimlane keys, ignoring the current filter
+     */
+    public Set<String> getOverloadedAssignees() {
+        reindexEdited();
+        return load.overloadedKeys();
+    }
+
+    /**
+     * Links two tasks on the chart, e.g. {@code new Dependency(design, build)}
+     * for finish-to-start.  Early / late dates, slack and the critical path
+     * are updated for the affected tasks only.
+     * @param d The link
+     * @return false if an equal link already exists
+     * @throws IllegalArgumentException if a task is not on the chart or the link would create a cycle
+     */
+    public boolean addDependency(Dependency d) {
+        return schedule.addDependency(d);
+    }
+
+    /**
+     * Adds many links at once – one topological sort instead of a repair per
+     * link, for loading a whole plan.
+     * @param deps The links
+     * @throws IllegalArgumentException if a task is not on the chart or the links form a cycle
+     *         (none are added then)
+     */
+    public void addDependencies(Collection<Dependency> deps) {
+        schedule.addDependencies(deps);
+    }
+
+    /**
+     * @param d The link to remove
+     * @return false if no equal link exists
+     */
+    public boolean removeDependency(Dependency d) {
+        return schedule.removeDependency(d);
+    }
+
+    /**
+     * @param t A task on the chart
+     * @return Links into and out of {@code t}
+     */
+    public List<Dependency> getDependencies(GanttTask t) {
+        return schedule.getDependencies(t);
+    }
+
+    /**
+     * Tasks that cannot slip without delaying the project finish.
+     * @return Critical tasks ordered by early start
+     */
+    public List<GanttTask> getCriticalPath() {
+        reindexEdited();
+        return schedule.getCriticalPath();
+    }
+
+    /**
+     * @param t A task on the chart
+     * @return How far {@code t} can slip, in milliseconds, without delaying the project finish
+     * @throws IllegalArgumentException if {@code t} is not on the chart
+     */
+    public long getSlackMs(GanttTask t) {
+        reindexEdited();
+        return schedule.getSlackMs(t);
+    }
+
+    /**
+     * Early / late dates of every task, for hosts that need more than slack.
+     * @return The live schedule – change links through this view, not the engine
+     */
+    public CriticalPathEngine getSchedule() {
+        reindexEdited();
+        return schedule;
     }
 
     /**
@@ -493,7 +1279,7 @@ public class GanttChartView extends HorizontalScrollView {
      * @param minDurationMs Minimum duration in milliseconds
      */
     public void filterByMinDuration(long minDurationMs) {
-        setFilter(t -> (t.getEnd().getTime() - t.getStart().getTime()) >= minDurationMs);
+        applyFilter(TaskFilter.minDuration(minDurationMs));
     }
 
     /**
@@ -508,6 +1294,32 @@ public class GanttChartView extends HorizontalScrollView {
         return timeScale;
     }
 
+    /**
+     * Switches between the single-canvas renderer and the View-per-block tree.
+     * @param mode The {@link RenderMode} to use; null falls back to CANVAS
+     */
+    public void setRenderMode(RenderMode mode) {
+        if (mode == null) mode = RenderMode.CANVAS;
+        if (mode == renderMode) return;
+        renderMode = mode;
+
+        attachBody();
+        invalidateChart(DIRTY_GEOMETRY);   // same packed layout, other renderer
+    }
+
+    public RenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    /**
+     * Pool of recycled task block Views used by {@link RenderMode#VIEWS};
+     * exposes hit / miss counters for profiling.
+     * @return the chart's {@link TaskBlockPool}
+     */
+    public TaskBlockPool getBlockPool() {
+        return blockPool;
+    }
+
     public static class FilterManager<T> {
         private Predicate<T> filterPredicate;
         private boolean isDefaultFilterActive; // Flag
@@ -538,7 +1350,25 @@ public class GanttChartView extends HorizontalScrollView {
      * @return Number of visible tasks
      */
     public int getVisibleTaskCount() {
-        return (int) allTasks.stream().filter(filterPredicate).count();
+        reindexEdited();                    // date criteria read the interval index
+        if (taskStore.ownsAll()) return filterEngine.count(taskFilter);
+        return (int) taskStore.asList().stream().filter(taskFilter::test).count();     // some tasks shared with another chart
+    }
+
+    /**
+     * Cost breakdown of the most recent redraw.
+     * @return the last {@link GanttMetrics} snapshot ({@link GanttMetrics#EMPTY} before the first one)
+     */
+    public GanttMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets a listener called with a {@link GanttMetrics} snapshot after every redraw.
+     * @param l The {@link OnRenderMetricsListener} to use; null to stop reporting
+     */
+    public void setOnRenderMetricsListener(OnRenderMetricsListener l) {
+        metricsListener = l;
     }
 
     /**
@@ -547,6 +1377,8 @@ public class GanttChartView extends HorizontalScrollView {
      */
     public void setOnTaskClickListener(OnTaskClickListener l) {
         onTaskClickListener = l;
+        if (chartCanvas != null) chartCanvas.setListeners(onTaskClickListener, onTaskActionListener);
+        if (gridContainer != null) gridContainer.notifyDataSetChanged();   // blocks captured the old listener
     }
 
     /**
@@ -555,6 +1387,8 @@ public class GanttChartView extends HorizontalScrollView {
      */
     public void setOnTaskActionListener(OnTaskActionListener l) {
         onTaskActionListener = l;
+        if (chartCanvas != null) chartCanvas.setListeners(onTaskClickListener, onTaskActionListener);
+        if (gridContainer != null) gridContainer.notifyDataSetChanged();
     }
 
     /**
@@ -634,7 +1468,7 @@ public class GanttChartView extends HorizontalScrollView {
                 task.setEnd(calEnd.getTime());
 
                 if (isNew) addTask(task);
-                else drawGrid();
+                else notifyTaskChanged(task);
                 dlg.dismiss();
             });
         });
@@ -657,7 +1491,7 @@ public class GanttChartView extends HorizontalScrollView {
      * @return List of all {@link GanttTask}
      */
     public List<GanttTask> getAllTasks() {
-        return new ArrayList<>(allTasks);
+        return new ArrayList<>(taskStore.asList());
     }
 
     /**
@@ -676,8 +1510,7 @@ public class GanttChartView extends HorizontalScrollView {
 
         this.customStartHour = startMonth;
         this.customEndHour = endMonth;
-        drawHeaderRow();
-        drawGrid();
+        invalidateChart(DIRTY_HEADER | DIRTY_PACKING);
     }
 
 
@@ -689,13 +1522,29 @@ public class GanttChartView extends HorizontalScrollView {
 
         @Override
         public void onDelete(GanttTask task) {
-            int idx = allTasks.indexOf(task);
-            allTasks.remove(task);
-            drawGrid();
+            int idx = taskStore.remove(task);
+            timeIndex.remove(task);
+            groupIndex.remove(task);
+            List<Dependency> links = schedule.getDependencies(task);
+            schedule.removeTask(task);
+            load.remove(task);
+            invalidateChart(DIRTY_GROUPING);
 
             Snackbar.make(GanttChartView.this, "Task deleted", Snackbar.LENGTH_LONG).setAction("UNDO", v -> {
-                allTasks.add(Math.min(idx, allTasks.size()), task);
-                drawGrid();
+                taskStore.add(Math.max(0, Math.min(idx, taskStore.size())), task);
+                timeIndex.add(task);
+                groupIndex.insert(task, taskStore.asList());
+                schedule.addTask(task);
+                load.add(task);
+                for (Dependency d : links) {        // the other end may be gone, or the link now close a cycle
+                    if (!schedule.contains(d.getPredecessor()) || !schedule.contains(d.getSuccessor())) continue;
+                    try {
+                        schedule.addDependency(d);
+                    } catch (IllegalArgumentException ignored) {
+                        // skip it
+                    }
+                }
+                invalidateChart(DIRTY_GROUPING);
             }).show();
         }
 
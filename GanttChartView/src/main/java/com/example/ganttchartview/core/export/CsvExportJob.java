@@ -0,0 +1,271 @@
+package com.example.ganttchartview.core.export;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.example.ganttchartview.model.GanttTask;
+import com.example.ganttchartview.model.TimeScale;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/**
+ * CSV export running on a background thread – see
+ * {@link ExportUtils#exportCsvAsync}.
+ * <p>
+ * The task fields are copied when the job starts, so the chart may be edited
+ * while the file is written.  Rows stream out in chunks through one UTF-8
+ * encoder, and a single date formatter runs once per distinct day; rows
+ * themselves allocate nothing.  All {@link Listener} callbacks arrive on the
+ * main thread, and none but {@link Listener#onCancelled} after
+ * {@link #cancel()}.
+ */
+public final class CsvExportJob {
+
+    /** Export outcome and progress, delivered on the main thread. */
+    public interface Listener {
+        /** Called every ~1 % of the rows. */
+        default void onProgress(int written, int total) {}
+        void onDone(@NonNull Uri uri);
+        void onError(@NonNull Exception e);
+        /** The partial file has been deleted. */
+        default void onCancelled() {}
+    }
+
+    static final String HEADER = "Title,Assigned,Start,End,Info\n";
+
+    /** Shared by CSV export and import; one file at a time. */
+    static final ExecutorService WORKER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "gantt-csv");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+
+    private static final int CHUNK_CHARS = 32 * 1024;
+
+    private final Handler main = new Handler(Looper.getMainLooper());
+    private final Rows rows;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+
+    private CsvExportJob(Rows rows) {
+        this.rows = rows;
+    }
+
+    @MainThread
+    static CsvExportJob start(Context ctx, List<GanttTask> tasks, TimeScale scale,
+                              File out, Listener listener) {
+        CsvExportJob job = new CsvExportJob(new Rows(tasks));
+        Context app = ctx.getApplicationContext();
+        WORKER.execute(() -> job.run(app, scale, out, listener));
+        return job;
+    }
+
+    /** Stops the export at the next row and deletes the partial file. */
+    @MainThread
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** True once a terminal callback has been posted. */
+    public boolean isDone() {
+        return done;
+    }
+
+    private void run(Context app, TimeScale scale, File out, Listener listener) {
+        final int total = rows.size();
+        final int step = Math.max(1024, total / 100);
+        try {
+            boolean complete;
+            try (Writer w = open(out)) {
+                complete = write(w, rows, scale, () -> cancelled, n -> {
+                    if (n % step == 0) main.post(() -> {
+                        if (!cancelled) listener.onProgress(n, total);
+                    });
+                });
+            }
+            if (!complete) {
+                //noinspection ResultOfMethodCallIgnored
+                out.delete();
+                finish(listener::onCancelled);
+                return;
+            }
+            Uri uri = ExportUtils.scanFile(app, out, "text/csv");
+            finish(() -> {
+                if (cancelled) {
+                    listener.onCancelled();          // too late to stop; the file is kept
+                } else {
+                    listener.onProgress(total, total);
+                    listener.onDone(uri);
+                }
+            });
+        } catch (Exception e) {
+            //noinspection ResultOfMethodCallIgnored
+            out.delete();
+            finish(() -> {
+                if (cancelled) listener.onCancelled();
+                else listener.onError(e);
+            });
+        }
+    }
+
+    private void finish(Runnable callback) {
+        done = true;
+        main.post(callback);
+    }
+
+    /** UTF-8 writer; {@link #write} hands it whole chunks, so no extra buffering. */
+    static Writer open(File out) throws IOException {
+        return new OutputStreamWriter(new FileOutputStream(out), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the header and every row.  Rows are assembled in a plain
+     * {@link StringBuilder} and passed on in {@link #CHUNK_CHARS} chunks –
+     * per-character writes to a {@link Writer} take its lock every time.
+     * @param progress receives the running row count after each row
+     * @return false if {@code cancelled} stopped it early
+     */
+    static boolean write(Writer w, Rows rows, TimeScale scale,
+                         BooleanSupplier cancelled, IntConsumer progress) throws IOException {
+        CellDates dates = new CellDates(scale);
+        StringBuilder sb = new StringBuilder(CHUNK_CHARS + 1024).append(HEADER);
+        for (int i = 0, n = rows.size(); i < n; i++) {
+            if (cancelled.getAsBoolean()) return false;
+            cell(sb, rows.title[i]).append(',');
+            cell(sb, rows.assignee[i]).append(',');
+            dates.append(sb, rows.start[i]).append(',');
+            dates.append(sb, rows.end[i]).append(',');
+            cell(sb, rows.info[i]).append('\n');
+            if (sb.length() >= CHUNK_CHARS) {
+                w.append(sb);
+                sb.setLength(0);
+            }
+            progress.accept(i + 1);
+        }
+        w.append(sb);
+        return true;
+    }
+
+    /** Quoted cell; embedded quotes are doubled. */
+    private static StringBuilder cell(StringBuilder sb, String s) {
+        sb.append('"');
+        if (s != null) {
+            int from = 0;
+            for (int q = s.indexOf('"'); q >= 0; q = s.indexOf('"', from)) {
+                sb.append(s, from, q + 1).append('"');
+                from = q + 1;
+            }
+            sb.append(s, from, s.length());
+        }
+        return sb.append('"');
+    }
+
+    /** Column copy of the exported fields, taken on the caller's thread. */
+    static final class Rows {
+        final String[] title, assignee, info;
+        final long[] start, end;
+
+        Rows(List<GanttTask> tasks) {
+            int n = tasks.size();
+            title = new String[n];
+            assignee = new String[n];
+            info = new String[n];
+            start = new long[n];
+            end = new long[n];
+            for (int i = 0; i < n; i++) {
+                GanttTask t = tasks.get(i);
+                title[i] = t.getTitle();
+                assignee[i] = t.getAssignedTo();
+                info[i] = t.getInfo();
+                start[i] = t.getStartMs();
+                end[i] = t.getEndMs();
+            }
+        }
+
+        int size() {
+            return start.length;
+        }
+    }
+
+    /**
+     * Date cells for one export.  Every per-scale pattern is a day part
+     * optionally followed by {@code HH:mm}, so the day part goes through a
+     * single {@link SimpleDateFormat} once per local day (cached) and the
+     * time is written digit by digit from the local time of day.
+     */
+    static final class CellDates {
+        private static final long DAY_MS = 86_400_000L;
+        private static final int SLOTS = 256;
+
+        private final SimpleDateFormat fmt;
+        private final TimeZone zone;
+        private final boolean withTime;
+        private final char zero;
+        private final Date date = new Date();
+        private final StringBuffer buf = new StringBuffer(24);
+        private final FieldPosition pos = new FieldPosition(0);
+        private final long[] days = new long[SLOTS];
+        private final String[] texts = new String[SLOTS];
+
+        CellDates(TimeScale scale) {
+            withTime = scale != TimeScale.MONTH;
+            String day = scale == TimeScale.HOUR ? "yyyy-MM-dd " : scale == TimeScale.DAY ? "EEE " : "dd MMM";
+            fmt = new SimpleDateFormat(day, Locale.getDefault());
+            zone = fmt.getTimeZone();
+            NumberFormat nf = fmt.getNumberFormat();
+            zero = nf instanceof DecimalFormat ? ((DecimalFormat) nf).getDecimalFormatSymbols().getZeroDigit() : '0';
+        }
+
+        /** Appends {@code ms} as a quoted cell. */
+        StringBuilder append(StringBuilder sb, long ms) {
+            long local = ms + zone.getOffset(ms);
+            long day = Math.floorDiv(local, DAY_MS);
+            int slot = (int) (day ^ (day >>> 32)) & (SLOTS - 1);
+            String text = texts[slot];
+            if (text == null || days[slot] != day) {
+                date.setTime(ms);
+                buf.setLength(0);
+                text = fmt.format(date, buf, pos).toString().replace("\"", "\"\"");
+                days[slot] = day;
+                texts[slot] = text;
+            }
+            sb.append('"').append(text);
+            if (withTime) {
+                int minute = (int) (Math.floorMod(local, DAY_MS) / 60_000L);
+                sb.append((char) (zero + minute / 600))
+                  .append((char) (zero + minute / 60 % 10))
+                  .append(':')
+                  .append((char) (zero + minute % 60 / 10))
+                  .append((char) (zero + minute % 10));
+            }
+            return sb.append('"');
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.example.ganttchartview.core.export;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.example.ganttchartview.core.layout.TrackPacker;
+import com.example.ganttchartview.model.GanttTask;
+import com.example.ganttchartview.model.TaskColor;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormatSymbols;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Reads files in the {@link ExportUtils#exportCsv} schema back into tasks on
+ * a background thread – see {@link ExportUtils#importCsvAsync}.
+ * <p>
+ * The file is parsed as a stream (quoted fields, doubled quotes and line
+ * breaks inside quotes) and handed to the chart in batches of
+ * {@link #BATCH_ROWS} tasks.  Each batch is one short main-thread message,
+ * and the chart lays out at most once per frame however many batches
+ * arrived in it.  A header row, if present, maps the columns by name, so
+ * reordered or extra columns are fine.
+ * <p>
+ * Every export date pattern is recognised by its shape.  Only HOUR exports
+ * ({@code yyyy-MM-dd HH:mm}) carry full dates: DAY cells ({@code EEE HH:mm})
+ * land in the week of the reference time and MONTH cells ({@code dd MMM}) in
+ * its year (29 Feb becoming 28 Feb if need be), an end before its start
+ * moving on by a week / year.  MONTH cells have no time of day, so their
+ * tasks start and end at local midnight.  Exports carry no colours, so each swimlane
+ * gets the next palette colour.
+ */
+public final class CsvImportJob {
+
+    /** Import progress and outcome, delivered on the main thread. */
+    public interface Listener {
+        /** Called after each batch has been added to the chart. */
+        default void onProgress(int rows) {}
+        void onDone(int rows);
+        void onError(@NonNull Exception e);
+        /** Batches added before {@link #cancel()} stay in the chart. */
+        default void onCancelled() {}
+    }
+
+    /** Tasks handed to the chart per main-thread message (~10 ms of indexing). */
+    public static final int BATCH_ROWS = 2048;
+
+    private final Handler main = new Handler(Looper.getMainLooper());
+    private volatile boolean cancelled;
+    private volatile boolean done;
+
+    private CsvImportJob() { }
+
+    @MainThread
+    static CsvImportJob start(Context ctx, Uri uri, long referenceMs,
+                              Consumer<List<GanttTask>> sink, Listener listener) {
+        CsvImportJob job = new CsvImportJob();
+        Context app = ctx.getApplicationContext();
+        CsvExportJob.WORKER.execute(() -> job.run(app, uri, referenceMs, sink, listener));
+        return job;
+    }
+
+    /** Stops at the next row; no batch reaches the chart after this. */
+    @MainThread
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** True once a terminal callback has been posted. */
+    public boolean isDone() {
+        return done;
+    }
+
+    private void run(Context app, Uri uri, long referenceMs,
+                     Consumer<List<GanttTask>> sink, Listener listener) {
+        try (Reader in = open(app, uri)) {
+            int[] parsed = {0};
+            int rows = read(in, referenceMs, () -> cancelled, batch -> {
+                int n = parsed[0] += batch.size();
+                main.post(() -> {
+                    if (cancelled) return;
+                    sink.accept(batch);
+                    listener.onProgress(n);
+                });
+            });
+            finish(() -> {
+                if (cancelled || rows < 0) listener.onCancelled();
+                else listener.onDone(rows);
+            });
+        } catch (Exception e) {
+            finish(() -> {
+                if (cancelled) listener.onCancelled();
+                else listener.onError(e);
+            });
+        }
+    }
+
+    private void finish(Runnable callback) {
+        done = true;
+        main.post(callback);
+    }
+
+    static Reader open(Context ctx, Uri uri) throws IOException {
+        InputStream in = ctx.getContentResolver().openInputStream(uri);
+        if (in == null) throw new FileNotFoundException("Cannot open " + uri);
+        return new InputStreamReader(in, StandardCharsets.UTF_8);      // Records buffers itself
+    }
+
+    /**
+     * Parses every row into tasks.
+     * @param referenceMs time that DAY / MONTH cells are placed around
+     * @param batches receives up to {@link #BATCH_ROWS} tasks at a time
+     * @return rows read, or -1 if {@code cancelled} stopped it early
+     * @throws ParseException on a malformed row; its offset is the line number
+     */
+    static int read(Reader in, long referenceMs, BooleanSupplier cancelled,
+                    Consumer<List<GanttTask>> batches) throws IOException, ParseException {
+        Records records = new Records(in);
+        CellDates dates = new CellDates(referenceMs);
+        int title = 0, assignee = 1, start = 2, end = 3, info = 4;
+
+        List<String> r = records.next();
+        if (r != null && !r.isEmpty() && r.get(0).startsWith("\uFEFF")) r.set(0, r.get(0).substring(1));
+        if (r != null && column(r, "Start") >= 0 && column(r, "End") >= 0) {
+            title = column(r, "Title");
+            assignee = column(r, "Assigned");
+            start = column(r, "Start");
+            end = column(r, "End");
+            info = column(r, "Info");
+            if (title < 0) throw new ParseException("Line 1: no Title column", 1);
+            r = records.next();
+        }
+        int needed = Math.max(Math.max(title, assignee), Math.max(Math.max(start, end), info)) + 1;
+
+        Map<String, String> names = new HashMap<>();          // one String per assignee
+        Map<String, Integer> colors = new HashMap<>();
+        TaskColor[] palette = TaskColor.values();
+        List<GanttTask> batch = new ArrayList<>(BATCH_ROWS);
+        int rows = 0;
+        for (; r != null; r = records.next()) {
+            if (cancelled.getAsBoolean()) return -1;
+            if (r.size() == 1 && r.get(0).isEmpty()) continue;             // blank line
+            int line = records.recordLine;
+            if (r.size() < needed) {
+                throw new ParseException("Line " + line + ": expected " + needed + " fields, found " + r.size(), line);
+            }
+            String who = assignee >= 0 ? r.get(assignee) : "";
+            who = names.computeIfAbsent(who, k -> k);
+            String endText = r.get(end);
+            long s = dates.parse(r.get(start), line);
+            long e = dates.parse(endText, line);
+            if (e < s) e = dates.rollForward(endText, e);
+            GanttTask t = new GanttTask(r.get(title), new Date(s), new Date(e), 0,
+                    info >= 0 ? r.get(info) : "", who);
+            Integer c = colors.computeIfAbsent(TrackPacker.groupKey(t), k -> colors.size() % palette.length);
+            t.setColor(palette[c].argb);
+            batch.add(t);
+            rows++;
+            if (batch.size() == BATCH_ROWS) {
+                batches.accept(batch);
+                batch = new ArrayList<>(BATCH_ROWS);
+            }
+        }
+        if (!batch.isEmpty()) batches.accept(batch);
+        return rows;
+    }
+
+    private static int column(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(name)) return i;
+        }
+        return -1;
+    }
+
+    /** Streaming CSV tokenizer; {@link #next} reuses its list. */
+    static final class Records {
+        private final Reader in;
+        private final char[] buf = new char[16 * 1024];
+        private int pos, len;
+        private final StringBuilder field = new StringBuilder();
+        private final ArrayList<String> record = new ArrayList<>();
+        private int line = 1;
+        /** Line the last record started on (1-based). */
+        int recordLine;
+
+        Records(Reader in) {
+            this.in = in;
+        }
+
+        /** Next record, or null at the end of the input. */
+        List<String> next() throws IOException, ParseException {
+            record.clear();
+            int c = read();
+            if (c < 0) return null;
+            recordLine = line;
+            while (true) {
+                field.setLength(0);
+                if (c == '"') {
+                    while (true) {
+                        c = read();
+                        if (c < 0) {
+                            throw new ParseException("Line " + recordLine + ": unterminated quoted field", recordLine);
+                        }
+                        if (c == '"') {
+                            c = read();
+                            if (c != '"') break;                // closing quote
+                        } else if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                    if (c >= 0 && c != ',' && c != '\n' && c != '\r') {
+                        throw new ParseException("Line " + line + ": text after a closing quote", line);
+                    }
+                } else {
+                    while (c >= 0 && c != ',' && c != '\n' && c != '\r') {
+                        field.append((char) c);
+                        c = read();
+                    }
+                }
+                record.add(field.toString());
+                if (c == ',') {
+                    c = read();
+                    continue;
+                }
+                if (c == '\r' && peek() == '\n') read();
+                if (c >= 0) line++;
+                return record;
+            }
+        }
+
+        private int read() throws IOException {
+            if (pos == len && !fill()) return -1;
+            return buf[pos++];
+        }
+
+        private int peek() throws IOException {
+            if (pos == len && !fill()) return -1;
+            return buf[pos];
+        }
+
+        private boolean fill() throws IOException {
+            int n = in.read(buf, 0, buf.length);
+            pos = 0;
+            len = Math.max(n, 0);
+            return n > 0;
+        }
+    }
+
+    /**
+     * Date cells in any of the export patterns, in the default zone and
+     * locale like the export.  Charts repeat the same times a lot, so parsed
+     * cells are cached.
+     */
+    static final class CellDates {
+        private static final int CACHE_LIMIT = 4096;
+
+        private final Calendar cal = Calendar.getInstance(TimeZone.getDefault(), Locale.getDefault());
+        private final long referenceMs;
+        private final int referenceYear;
+        private final String[] weekdays;        // indexed by Calendar.SUNDAY..SATURDAY
+        private final String[] months;          // indexed by Calendar.JANUARY..
+        private final HashMap<String, Long> cache = new HashMap<>();
+        private int at;                         // parse cursor
+
+        CellDates(long referenceMs) {
+            this.referenceMs = referenceMs;
+            cal.setTimeInMillis(referenceMs);
+            referenceYear = cal.get(Calendar.YEAR);
+            DateFormatSymbols symbols = DateFormatSymbols.getInstance(Locale.getDefault());
+            weekdays = symbols.getShortWeekdays();
+            months = symbols.getShortMonths();
+        }
+
+        long parse(String text, int line) throws ParseException {
+            Long hit = cache.get(text);
+            if (hit != null) return hit;
+            long ms = parseUncached(text.trim(), line);
+            if (cache.size() == CACHE_LIMIT) cache.clear();
+            cache.put(text, ms);
+            return ms;
+        }
+
+        /** Moves a DAY / MONTH cell on by one week / year; full dates stay as they are. */
+        long rollForward(String text, long ms) {
+            String s = text.trim();
+            if (s.isEmpty() || isFullDate(s)) return ms;
+            cal.setTimeInMillis(ms);
+            cal.add(Character.isDigit(s.charAt(0)) ? Calendar.YEAR : Calendar.WEEK_OF_YEAR, 1);
+            return cal.getTimeInMillis();
+        }
+
+        private static boolean isFullDate(String s) {
+            int dash = s.indexOf('-');
+            return dash > 0 && Character.isDigit(s.charAt(0));
+        }
+
+        private long parseUncached(String s, int line) throws ParseException {
+            at = 0;
+            if (s.isEmpty()) throw bad(s, line);
+            if (isFullDate(s)) {                                    // yyyy-MM-dd HH:mm
+                int y = number(s, line);
+                expect(s, '-', line);
+                int mo = number(s, line);
+                expect(s, '-', line);
+                int d = number(s, line);
+                expect(s, ' ', line);
+                int h = number(s, line);
+                expect(s, ':', line);
+                int mi = number(s, line);
+                end(s, line);
+                if (mo < 1 || mo > 12 || d < 1 || d > 31 || h > 23 || mi > 59) throw bad(s, line);
+                cal.clear();
+                cal.set(y, mo - 1, d, h, mi);
+            } else if (Character.isDigit(s.charAt(0))) {            // dd MMM
+                int d = number(s, line);
+                expect(s, ' ', line);
+                int mo = name(s, months, line);
+                end(s, line);
+                if (d < 1 || d > 31) throw bad(s, line);
+                cal.clear();
+                cal.set(referenceYear, mo, 1);
+                cal.set(Calendar.DAY_OF_MONTH, Math.min(d, cal.getActualMaximum(Calendar.DAY_OF_MONTH)));   // 29 Feb
+            } else {                                                // EEE HH:mm
+                int dow = name(s, weekdays, line);
+                expect(s, ' ', line);
+                int h = number(s, line);
+                expect(s, ':', line);
+                int mi = number(s, line);
+                end(s, line);
+                if (h > 23 || mi > 59) throw bad(s, line);
+                cal.setTimeInMillis(referenceMs);
+                cal.set(Calendar.DAY_OF_WEEK, dow);
+                cal.set(Calendar.HOUR_OF_DAY, h);
+                cal.set(Calendar.MINUTE, mi);
+                cal.set(Calendar.SECOND, 0);
+                cal.set(Calendar.MILLISECOND, 0);
+            }
+            return cal.getTimeInMillis();
+        }
+
+        /** Decimal digits in any script, as the formatter may localise them. */
+        private int number(String s, int line) throws ParseException {
+            int v = 0, from = at;
+            for (int d; at < s.length() && (d = Character.digit(s.charAt(at), 10)) >= 0; at++) {
+                v = v * 10 + d;
+            }
+            if (at == from || at - from > 9) throw bad(s, line);
+            return v;
+        }
+
+        /** Index of the longest entry of {@code names} at the cursor, case-insensitively. */
+        private int name(String s, String[] names, int line) throws ParseException {
+            int best = -1, bestLen = 0;
+            for (int i = 0; i < names.length; i++) {
+                String n = names[i];
+                if (n == null || n.length() <= bestLen) continue;
+                if (s.regionMatches(true, at, n, 0, n.length())) {
+                    best = i;
+                    bestLen = n.length();
+                }
+            }
+            if (best < 0) throw bad(s, line);
+            at += bestLen;
+            return best;
+        }
+
+        private void expect(String s, char c, int line) throws ParseException {
+            if (at >= s.length() || s.charAt(at) != c) throw bad(s, line);
+            at++;
+        }
+
+        private void end(String s, int line) throws ParseException {
+            if (at != s.length()) throw bad(s, line);
+        }
+
+        private static ParseException bad(String s, int line) {
+            return new ParseException("Line " + line + ": unrecognised date \"" + s + "\"", line);
+        }
+    }
+}
@@ -16,6 +16,7 @@ import android.view.ViewGroup;
 import android.widget.HorizontalScrollView;
 import android.widget.ScrollView;
 
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 
 import com.example.ganttchartview.core.GanttChartView;
@@ -25,8 +26,10 @@ import com.example.ganttchartview.model.TimeScale;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * 💾 **ExportUtils** – one-shot helpers that save the current Gantt data
@@ -38,14 +41,17 @@ import java.util.Locale;
  * All files are written to <em>public</em> collections, so they appear
  * instantly in the system **Files** / **Gallery** apps – no SAF, no
  * `FileProvider` required.  Each method returns the final {@link Uri}
- * for further sharing if you like.
+ * for further sharing if you like; large CSV exports can run in the
+ * background with {@link #exportCsvAsync}, and {@link #importCsvAsync}
+ * streams such a file back into a chart.
  */
 public final class ExportUtils {
 
 
     /**
      * Exports the supplied task list as a CSV file in the public
-     * **Documents/GanttExports** collection.
+     * **Documents/GanttExports** collection, on the caller's thread.  Prefer
+     * {@link #exportCsvAsync} from the UI thread.
      *
      * @param ctx       app / activity context
      * @param tasks     list of tasks to export
@@ -62,30 +68,93 @@ public final class ExportUtils {
                                 TimeScale scale,          // ⬅️  new arg
                                 String baseName) throws Exception {
 
-        // choose a per-scale formatter
-        final java.text.DateFormat fmt =
-                (scale == TimeScale.HOUR)  ? new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault()) :
-                        (scale == TimeScale.DAY )  ? new java.text.SimpleDateFormat("EEE HH:mm",        Locale.getDefault()) :
-                                /* MONTH */                  new java.text.SimpleDateFormat("dd MMM",          Locale.getDefault());
+        File out = csvFile(baseName);
+        try (Writer w = CsvExportJob.open(out)) {
+            CsvExportJob.write(w, new CsvExportJob.Rows(tasks), scale, () -> false, n -> { });
+        }
+        return scanFile(ctx, out, "text/csv");
+    }
+
+    /**
+     * Same file as {@link #exportCsv}, written on a background thread with
+     * progress and cancellation.  The task fields are copied before this
+     * returns, so the list and the chart may change afterwards.
+     *
+     * @param ctx       app / activity context (only the application context is kept)
+     * @param tasks     list of tasks to export
+     * @param scale     time scale (HOUR, DAY, MONTH) for date formatting
+     * @param baseName  filename stem (no extension!)
+     * @param listener  progress and result, called on the main thread
+     *
+     * @return handle to {@link CsvExportJob#cancel() cancel} the export
+     *
+     * @throws Exception if the export folder cannot be created
+     */
+    @MainThread
+    @NonNull
+    public static CsvExportJob exportCsvAsync(@NonNull Context ctx,
+                                              @NonNull List<GanttTask> tasks,
+                                              @NonNull TimeScale scale,
+                                              @NonNull String baseName,
+                                              @NonNull CsvExportJob.Listener listener) throws Exception {
+        return CsvExportJob.start(ctx, tasks, scale, csvFile(baseName), listener);
+    }
 
+    /**
+     * Reads a CSV file written by {@link #exportCsv} (or by hand in the same
+     * schema) on the caller's thread.  Prefer {@link #importCsvAsync} from
+     * the UI thread.
+     *
+     * @param ctx  app / activity context
+     * @param uri  file or content Uri to read
+     *
+     * @return the tasks, in file order; see {@link CsvImportJob} for how
+     *         DAY / MONTH dates are placed.  MONTH cells carry no time of
+     *         day, so those tasks start and end at local midnight.
+     *
+     * @throws Exception on I/O errors, or a {@link java.text.ParseException}
+     *         whose offset is the line of a malformed row
+     */
+    @NonNull
+    public static List<GanttTask> importCsv(@NonNull Context ctx,
+                                            @NonNull Uri uri) throws Exception {
+        List<GanttTask> out = new ArrayList<>();
+        try (Reader in = CsvImportJob.open(ctx, uri)) {
+            CsvImportJob.read(in, System.currentTimeMillis(), () -> false, out::addAll);
+        }
+        return out;
+    }
+
+    /**
+     * Streams a CSV file into {@code chart} on a background thread.  Rows
+     * are added with {@link GanttChartView#addTasks} in batches of
+     * {@link CsvImportJob#BATCH_ROWS}, after the tasks already on the chart;
+     * the chart relayouts at most once per frame.  Dates are read as in
+     * {@link #importCsv}; MONTH cells lose their time of day.
+     *
+     * @param ctx       app / activity context (only the application context is kept)
+     * @param uri       file or content Uri to read
+     * @param chart     chart receiving the tasks
+     * @param listener  progress and result, called on the main thread
+     *
+     * @return handle to {@link CsvImportJob#cancel() cancel} the import
+     */
+    @MainThread
+    @NonNull
+    public static CsvImportJob importCsvAsync(@NonNull Context ctx,
+                                              @NonNull Uri uri,
+                                              @NonNull GanttChartView chart,
+                                              @NonNull CsvImportJob.Listener listener) {
+        return CsvImportJob.start(ctx, uri, System.currentTimeMillis(), chart::addTasks, listener);
+    }
+
+    /** Time-stamped target file in Documents/GanttExports. */
+    @NonNull
+    private static File csvFile(@NonNull String baseName) throws Exception {
         String time = DateFormat.format("yyyyMMdd_HHmmss",
                 System.currentTimeMillis()).toString();
-        String fileName = baseName + "_" + time + ".csv";
-
         File outDir = ensureDir(Environment.DIRECTORY_DOCUMENTS, "GanttExports");
-        File out    = new File(outDir, fileName);
-
-        try (FileOutputStream fos = new FileOutputStream(out)) {
-            fos.write("Title,Assigned,Start,End,Info\n".getBytes());
-            for (GanttTask t : tasks) {
-                String line = String.format("\"%s\",\"%s\",\"%s\",\"%s\",\"%s\"\n",
-                        esc(t.getTitle()), esc(t.getAssignedTo()),
-                        fmt.format(t.getStart()), fmt.format(t.getEnd()),
-                        esc(t.getInfo()));
-                fos.write(line.getBytes());
-            }
-        }
-        return scanFile(ctx, out, "text/csv");
+        return new File(outDir, baseName + "_" + time + ".csv");
     }
 
 
@@ -236,13 +305,9 @@ public final class ExportUtils {
         return dir;
     }
 
-    /** Escape embedded quotes inside CSV cells. */
-    @NonNull
-    private static String esc(String s) { return s == null ? "" : s.replace("\"", "\"\""); }
-
     /** Kick MediaScanner so the new file shows up immediately. */
     @NonNull
-    private static Uri scanFile(@NonNull Context ctx,
+    static Uri scanFile(@NonNull Context ctx,
                                 @NonNull File f,
                                 @NonNull String mime) {
 
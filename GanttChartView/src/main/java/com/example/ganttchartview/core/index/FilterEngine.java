@@ -0,0 +1,92 @@
+package com.example.ganttchartview.core.index;
+
+import androidx.annotation.MainThread;
+
+import com.example.ganttchartview.model.GanttTask;
+import com.example.ganttchartview.model.TaskFilter;
+import com.example.ganttchartview.model.TaskStore;
+
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+/**
+ * Resolves a {@link TaskFilter} into a bitmap over {@link TaskStore} slots.
+ * Assignee, colour and duration criteria come straight from the store's
+ * bitmaps, date ranges from the interval index, and only
+ * {@link TaskFilter#matching} visits tasks one by one.
+ * <p>
+ * The last result is cached until the filter or the store changes
+ * ({@link TaskStore#getModCount()}).  The interval index is only as fresh
+ * as its last update; the chart re-indexes tasks edited in place
+ * ({@link TaskStore#takeEdited()}) before resolving a filter.
+ */
+@MainThread
+public final class FilterEngine implements TaskFilter.Resolver {
+
+    private final TaskStore store;
+    private final TaskIntervalIndex timeIndex;
+
+    private TaskFilter cachedFilter;
+    private int cachedMod;
+    private BitSet cachedBits;
+    private int cachedCount;
+
+    public FilterEngine(TaskStore store, TaskIntervalIndex timeIndex) {
+        this.store = store;
+        this.timeIndex = timeIndex;
+    }
+
+    /** Slots matching {@code f}; shared with the cache – do not modify. */
+    public BitSet resolve(TaskFilter f) {
+        if (f != cachedFilter || store.getModCount() != cachedMod || cachedBits == null) {
+            cachedBits = f.resolve(this);
+            cachedCount = cachedBits.cardinality();
+            cachedFilter = f;
+            cachedMod = store.getModCount();
+        }
+        return cachedBits;
+    }
+
+    /** Number of slots matching {@code f}. */
+    public int count(TaskFilter f) {
+        resolve(f);
+        return cachedCount;
+    }
+
+    /* ─── TaskFilter.Resolver ────────────────────────────────── */
+
+    @Override public BitSet all() {
+        return store.liveSlots();
+    }
+
+    @Override public BitSet assignee(String name) {
+        return store.slotsWithAssignee(name);
+    }
+
+    @Override public BitSet color(int argb) {
+        return store.slotsWithColor(argb);
+    }
+
+    /** Answered from the interval index, so tasks ending before they start never match. */
+    @Override public BitSet within(long fromMs, long toMs) {
+        BitSet out = new BitSet();
+        for (GanttTask t : timeIndex.overlapping(fromMs, toMs)) {      // superset: intersects the range
+            int s = store.slotOf(t);
+            if (s >= 0 && t.getStartMs() > fromMs && t.getEndMs() < toMs) out.set(s);
+        }
+        return out;
+    }
+
+    @Override public BitSet minDuration(long ms) {
+        return store.slotsWithMinDuration(ms);
+    }
+
+    @Override public BitSet matching(Predicate<GanttTask> p) {
+        BitSet live = store.liveSlots();
+        BitSet out = new BitSet();
+        for (int s = live.nextSetBit(0); s >= 0; s = live.nextSetBit(s + 1)) {
+            if (p.test(store.taskAt(s))) out.set(s);
+        }
+        return out;
+    }
+}
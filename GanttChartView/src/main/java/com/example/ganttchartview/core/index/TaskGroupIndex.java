@@ -0,0 +1,176 @@
+package com.example.ganttchartview.core.index;
+
+import androidx.annotation.MainThread;
+
+import com.example.ganttchartview.core.layout.TrackPacker;
+import com.example.ganttchartview.model.GanttTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Secondary indexes over a task list, kept up to date on every mutation:
+ * <ul>
+ *   <li>swimlane key ({@link TrackPacker#groupKey}) → tasks</li>
+ *   <li>colour → tasks</li>
+ * </ul>
+ * Tasks inside a bucket are in list order.  Swimlanes keep the order in
+ * which they first appeared – removing a swimlane's first task does not
+ * move it, and a new swimlane is appended; {@link #rebuild} restores plain
+ * first-appearance order.
+ * <p>
+ * Every bucket caches a read-only copy of itself, so {@link #groups()} costs
+ * O(1) per unchanged swimlane and the result can be handed to the layout
+ * thread as is.
+ * <p>
+ * Group keys and colours are read when a task is indexed; after changing a
+ * task's assignee, title or colour call {@link #update}.
+ */
+@MainThread
+public final class TaskGroupIndex {
+
+    private static final class Bucket {
+        final ArrayList<GanttTask> tasks = new ArrayList<>();
+        final String key;               // swimlane buckets
+        final int color;                // colour buckets
+        List<GanttTask> frozen;         // read-only copy, null once stale
+
+        Bucket(String key, int color) {
+            this.key = key;
+            this.color = color;
+        }
+
+        List<GanttTask> frozen() {
+            if (frozen == null) frozen = Collections.unmodifiableList(new ArrayList<>(tasks));
+            return frozen;
+        }
+    }
+
+    private final LinkedHashMap<String, Bucket> byKey = new LinkedHashMap<>();
+    private final Map<Integer, Bucket> byColor = new HashMap<>();
+    private final Map<GanttTask, Bucket> keyOf = new IdentityHashMap<>();
+    private final Map<GanttTask, Bucket> colorOf = new IdentityHashMap<>();
+
+    public void clear() {
+        byKey.clear();
+        byColor.clear();
+        keyOf.clear();
+        colorOf.clear();
+    }
+
+    /** Re-indexes {@code tasks} from scratch, in list order. */
+    public void rebuild(List<GanttTask> tasks) {
+        clear();
+        for (GanttTask t : tasks) add(t);
+    }
+
+    /** Indexes {@code t}, which was appended to the end of the list. */
+    public void add(GanttTask t) {
+        if (keyOf.containsKey(t)) return;
+        append(keyBucket(TrackPacker.groupKey(t)), t, keyOf);
+        append(colorBucket(t.getColor()), t, colorOf);
+    }
+
+    /** Indexes {@code t}, which now sits somewhere inside {@code list}. */
+    public void insert(GanttTask t, List<GanttTask> list) {
+        if (keyOf.containsKey(t)) return;
+        place(keyBucket(TrackPacker.groupKey(t)), t, list, keyOf);
+        place(colorBucket(t.getColor()), t, list, colorOf);
+    }
+
+    public void remove(GanttTask t) {
+        Bucket k = keyOf.remove(t);
+        if (k == null) return;
+        drop(k, t);
+        if (k.tasks.isEmpty()) byKey.remove(k.key);
+        Bucket c = colorOf.remove(t);
+        drop(c, t);
+        if (c.tasks.isEmpty()) byColor.remove(c.color);
+    }
+
+    /**
+     * Moves {@code t} to the right buckets after its assignee, title or
+     * colour changed; {@code list} is the task list it belongs to.
+     */
+    public void update(GanttTask t, List<GanttTask> list) {
+        Bucket k = keyOf.get(t);
+        if (k == null) return;
+        String key = TrackPacker.groupKey(t);
+        if (!k.key.equals(key)) {
+            drop(k, t);
+            if (k.tasks.isEmpty()) byKey.remove(k.key);
+            place(keyBucket(key), t, list, keyOf);
+        }
+        Bucket c = colorOf.get(t);
+        if (c.color != t.getColor()) {
+            drop(c, t);
+            if (c.tasks.isEmpty()) byColor.remove(c.color);
+            place(colorBucket(t.getColor()), t, list, colorOf);
+        }
+    }
+
+    /** Swimlanes in order, each a read-only list; unchanged buckets are not copied. */
+    public Map<String, List<GanttTask>> groups() {
+        Map<String, List<GanttTask>> out = new LinkedHashMap<>(byKey.size() * 2);
+        for (Bucket b : byKey.values()) out.put(b.key, b.frozen());
+        return out;
+    }
+
+    /** Tasks of swimlane {@code key} in list order (read-only, possibly empty). */
+    public List<GanttTask> inGroup(String key) {
+        Bucket b = byKey.get(key);
+        return b != null ? b.frozen() : Collections.emptyList();
+    }
+
+    /** Tasks with colour {@code argb} in list order (read-only, possibly empty). */
+    public List<GanttTask> withColor(int argb) {
+        Bucket b = byColor.get(argb);
+        return b != null ? b.frozen() : Collections.emptyList();
+    }
+
+    public int getGroupCount() {
+        return byKey.size();
+    }
+
+    /* ─── internals ──────────────────────────────────────────── */
+
+    private Bucket keyBucket(String key) {
+        Bucket b = byKey.get(key);
+        if (b == null) byKey.put(key, b = new Bucket(key, 0));
+        return b;
+    }
+
+    private Bucket colorBucket(int color) {
+        Bucket b = byColor.get(color);
+        if (b == null) byColor.put(color, b = new Bucket(null, color));
+        return b;
+    }
+
+    private static void append(Bucket b, GanttTask t, Map<GanttTask, Bucket> owner) {
+        b.tasks.add(t);
+        b.frozen = null;
+        owner.put(t, b);
+    }
+
+    /** Inserts {@code t} into {@code b} after every bucket member that precedes it in {@code list}. */
+    private static void place(Bucket b, GanttTask t, List<GanttTask> list, Map<GanttTask, Bucket> owner) {
+        int pos = 0;
+        for (GanttTask o : list) {
+            if (o == t) break;
+            if (owner.get(o) == b) pos++;
+        }
+        b.tasks.add(Math.min(pos, b.tasks.size()), t);
+        b.frozen = null;
+        owner.put(t, b);
+    }
+
+    private static void drop(Bucket b, GanttTask t) {
+        b.tasks.remove(t);
+        b.frozen = null;
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.ganttchartview.core.index;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+
+import com.example.ganttchartview.model.GanttTask;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Time index over a set of tasks: an augmented interval tree (a treap keyed
+ * by start time, each node also storing the latest end in its subtree).
+ * <ul>
+ *   <li>{@link #overlapping} – tasks intersecting {@code [t0, t1]} in O(log n + k)</li>
+ *   <li>{@link #firstStartingAtOrAfter} – next task from {@code t} in O(log n)</li>
+ *   <li>{@link #add} / {@link #remove} / {@link #update} in O(log n)</li>
+ * </ul>
+ * Tasks are mutable, so the index remembers the times each task was
+ * inserted with; after changing a task's start / end call {@link #update}.
+ * Every task also gets an insertion sequence number, used to break ties and
+ * to restore list order ({@link #insertionOrder}).
+ * <p>
+ * Not thread-safe – owned by the chart on the main thread.
+ */
+@MainThread
+public final class TaskIntervalIndex {
+
+    private static final class Node {
+        final GanttTask task;
+        final long start;
+        final long end;
+        final long seq;
+        final int priority;
+        long maxEnd;
+        Node left, right;
+
+        Node(GanttTask task, long start, long end, long seq, int priority) {
+            this.task = task;
+            this.start = start;
+            this.end = end;
+            this.seq = seq;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    private final Map<GanttTask, Node> nodes = new IdentityHashMap<>();
+    private final Random random = new Random(0x6A77);
+    private Node root;
+    private long nextSeq;
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public boolean contains(GanttTask t) {
+        return nodes.containsKey(t);
+    }
+
+    /** Drops every task. */
+    public void clear() {
+        nodes.clear();
+        root = null;
+        nextSeq = 0;
+    }
+
+    /** Clears and indexes {@code tasks} in iteration order. */
+    public void rebuild(Collection<GanttTask> tasks) {
+        clear();
+        for (GanttTask t : tasks) add(t);
+    }
+
+    /** Indexes {@code t} with its current times; no-op if already present. */
+    public void add(GanttTask t) {
+        if (nodes.containsKey(t)) return;
+        insert(t, nextSeq++);
+    }
+
+    /** Removes {@code t}; returns false if it was not indexed. */
+    public boolean remove(GanttTask t) {
+        Node n = nodes.remove(t);
+        if (n == null) return false;
+        root = delete(root, n.start, n.seq);
+        return true;
+    }
+
+    /**
+     * Re-indexes {@code t} after its start / end changed, keeping its
+     * insertion order.  Adds it if it was not indexed yet.
+     */
+    public void update(GanttTask t) {
+        Node n = nodes.remove(t);
+        if (n == null) {
+            add(t);
+            return;
+        }
+        root = delete(root, n.start, n.seq);
+        insert(t, n.seq);
+    }
+
+    /**
+     * Tasks whose interval intersects {@code [t0, t1]} (both inclusive),
+     * ordered by start time.
+     */
+    public List<GanttTask> overlapping(long t0, long t1) {
+        List<GanttTask> out = new ArrayList<>();
+        collect(root, t0, t1, out);
+        return out;
+    }
+
+    /** Number of tasks intersecting {@code [t0, t1]} – same cost as {@link #overlapping}. */
+    public int countOverlapping(long t0, long t1) {
+        return count(root, t0, t1);
+    }
+
+    /** Latest end of any indexed task, or {@link Long#MIN_VALUE} when empty. */
+    public long maxEnd() {
+        return root != null ? root.maxEnd : Long.MIN_VALUE;
+    }
+
+    /** Task with the smallest start ≥ {@code t}, or {@code null}. */
+    @Nullable
+    public GanttTask firstStartingAtOrAfter(long t) {
+        Node n = root, best = null;
+        while (n != null) {
+            if (n.start >= t) {
+                best = n;
+                n = n.left;
+            } else {
+                n = n.right;
+            }
+        }
+        return best != null ? best.task : null;
+    }
+
+    /** Compares two indexed tasks by insertion order (unknown tasks sort last). */
+    public int insertionOrder(GanttTask a, GanttTask b) {
+        Node na = nodes.get(a), nb = nodes.get(b);
+        long sa = na != null ? na.seq : Long.MAX_VALUE;
+        long sb = nb != null ? nb.seq : Long.MAX_VALUE;
+        return Long.compare(sa, sb);
+    }
+
+    /* ─── treap internals ────────────────────────────────────── */
+
+    private void insert(GanttTask t, long seq) {
+        Node n = new Node(t, t.getStartMs(), t.getEndMs(), seq, random.nextInt());
+        nodes.put(t, n);
+        root = insert(root, n);
+    }
+
+    private static int compare(long start, long seq, Node n) {
+        int c = Long.compare(start, n.start);
+        return c != 0 ? c : Long.compare(seq, n.seq);
+    }
+
+    private static Node insert(Node root, Node n) {
+        if (root == null) return n;
+        if (compare(n.start, n.seq, root) < 0) {
+            root.left = insert(root.left, n);
+            if (root.left.priority > root.priority) root = rotateRight(root);
+        } else {
+            root.right = insert(root.right, n);
+            if (root.right.priority > root.priority) root = rotateLeft(root);
+        }
+        fix(root);
+        return root;
+    }
+
+    private static Node delete(Node root, long start, long seq) {
+        if (root == null) return null;
+        int c = compare(start, seq, root);
+        if (c < 0) {
+            root.left = delete(root.left, start, seq);
+        } else if (c > 0) {
+            root.right = delete(root.right, start, seq);
+        } else {
+            root = merge(root.left, root.right);
+            if (root == null) return null;
+        }
+        fix(root);
+        return root;
+    }
+
+    /** Joins two treaps where every key of {@code a} precedes every key of {@code b}. */
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            fix(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        fix(b);
+        return b;
+    }
+
+    private static Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        l.right = n;
+        fix(n);
+        fix(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        r.left = n;
+        fix(n);
+        fix(r);
+        return r;
+    }
+
+    private static void fix(Node n) {
+        long m = n.end;
+        if (n.left != null && n.left.maxEnd > m) m = n.left.maxEnd;
+        if (n.right != null && n.right.maxEnd > m) m = n.right.maxEnd;
+        n.maxEnd = m;
+    }
+
+    private static void collect(Node n, long t0, long t1, List<GanttTask> out) {
+        while (n != null && n.maxEnd >= t0) {       // nothing below ends late enough
+            collect(n.left, t0, t1, out);
+            if (n.start > t1) return;               // right subtree starts even later
+            if (n.end >= t0) out.add(n.task);
+            n = n.right;
+        }
+    }
+
+    private static int count(Node n, long t0, long t1) {
+        int c = 0;
+        while (n != null && n.maxEnd >= t0) {
+            c += count(n.left, t0, t1);
+            if (n.start > t1) return c;
+            if (n.end >= t0) c++;
+            n = n.right;
+        }
+        return c;
+    }
+}
@@ -20,9 +20,21 @@ import java.util.function.Consumer;
  *  • single-tap  → clickHandler.run()
  *  • long-press → Edit / Delete chooser (or delegate to OnTaskActionListener)
  *  • swipe      → onSwipe(dir) in OnTaskActionListener
+ * <p>
+ * Recycled blocks attach once through a {@link Binding} and are re-pointed
+ * at new tasks without allocating fresh listeners or detectors.
  */
 public final class BlockGestureHelper {
 
+    /** What a block is currently showing – read on every gesture. */
+    public interface Binding {
+        GanttTask boundTask();
+
+        OnTaskActionListener actionListener();
+
+        int unitWidthPx();
+    }
+
     public static void attach(View block,
                               GanttTask task,
                               Context ctx,
@@ -30,8 +42,20 @@ public final class BlockGestureHelper {
                               OnTaskActionListener delegate,
                               int hourWidthPx) {
 
+        attach(block, ctx, clickHandler, new Binding() {
+            @Override public GanttTask boundTask() { return task; }
+            @Override public OnTaskActionListener actionListener() { return delegate; }
+            @Override public int unitWidthPx() { return hourWidthPx; }
+        });
+    }
+
+    public static void attach(View block,
+                              Context ctx,
+                              Consumer<GanttTask> clickHandler,
+                              Binding binding) {
+
         block.setOnClickListener(v -> {
-            if (clickHandler != null) clickHandler.accept(task);
+            if (clickHandler != null) clickHandler.accept(binding.boundTask());
         });
 
         final boolean[] wasLong = {false};
@@ -39,16 +63,7 @@ public final class BlockGestureHelper {
         block.setOnLongClickListener(v -> {
             wasLong[0] = true;
 
-            if (delegate != null) {
-                // BlockGestureHelper – themed Edit/Delete popup
-                new MaterialAlertDialogBuilder(ctx, R.style.Widget_Gantt_Dialog)
-                        .setTitle(task.getTitle())
-                        .setItems(new CharSequence[]{"Edit", "Delete"}, (d, which) -> {
-                            if (which == 0) delegate.onEdit(task);
-                            else            delegate.onDelete(task);
-                        })
-                        .show();
-            }
+            showActions(ctx, binding.boundTask(), binding.actionListener());
             return true;
         });
 
@@ -60,9 +75,10 @@ public final class BlockGestureHelper {
                         float dx = e2.getX() - e1.getX();
                         if (Math.abs(dx) > THRESHOLD && Math.abs(vx) > VELOCITY) {
                             int dir = (dx > 0) ? +1 : -1;
-                            if (delegate != null) delegate.onSwipe(task, dir);
+                            OnTaskActionListener delegate = binding.actionListener();
+                            if (delegate != null) delegate.onSwipe(binding.boundTask(), dir);
                             block.animate()
-                                    .translationX(dir * hourWidthPx * 0.4f)
+                                    .translationX(dir * binding.unitWidthPx() * 0.4f)
                                     .alpha(0.2f).setDuration(250)
                                     .withEndAction(() -> block.animate()
                                             .translationX(0).alpha(1f)
@@ -86,5 +102,24 @@ public final class BlockGestureHelper {
         });
     }
 
+    /**
+     * Themed Edit / Delete chooser shown on long-press.  Shared by the
+     * View-per-block path and the canvas renderer.
+     */
+    public static void showActions(Context ctx,
+                                   GanttTask task,
+                                   OnTaskActionListener delegate) {
+        if (delegate == null) return;
+
+        // BlockGestureHelper – themed Edit/Delete popup
+        new MaterialAlertDialogBuilder(ctx, R.style.Widget_Gantt_Dialog)
+                .setTitle(task.getTitle())
+                .setItems(new CharSequence[]{"Edit", "Delete"}, (d, which) -> {
+                    if (which == 0) delegate.onEdit(task);
+                    else            delegate.onDelete(task);
+                })
+                .show();
+    }
+
     private BlockGestureHelper() {}
 }
\ No newline at end of file
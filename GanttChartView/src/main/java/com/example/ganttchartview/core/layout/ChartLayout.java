@@ -0,0 +1,466 @@
+package com.example.ganttchartview.core.layout;
+
+import android.os.Trace;
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+
+import com.example.ganttchartview.model.GanttMetrics;
+import com.example.ganttchartview.model.GanttTask;
+import com.example.ganttchartview.model.TimeScale;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Packed result of one layout pass: every visible track becomes a {@link Row}
+ * holding the blocks placed on it.  Block positions are kept in <em>column
+ * units</em> so both renderers (canvas and View-per-block) can convert them
+ * to pixels with whatever unit width is current.
+ * <p>
+ * Layouts are diffed against the previous pass: a swimlane whose tasks did
+ * not change keeps its {@link Group} (and {@link Row} instances) untouched,
+ * and inside a re-packed swimlane every track whose blocks came out the same
+ * keeps its old {@link Row}.  Renderers can therefore compare rows by
+ * identity and only touch what actually changed.
+ * <p>
+ * Track assignments persist across passes ({@link TrackAssignment}): an
+ * edited swimlane is updated incrementally, so untouched tasks keep their
+ * track, and a change of time axis re-maps blocks without re-packing.
+ */
+public final class ChartLayout {
+
+    /** One task block – offset / span measured in columns. */
+    public static final class Block {
+        public final GanttTask task;
+        public final float offset;
+        public final float span;
+        // what the task looked like when laid out – the task itself is live,
+        // so comparing it against an older layout would always match
+        final int color;
+        final String title;
+
+        Block(GanttTask task, float offset, float span) {
+            this.task = task;
+            this.offset = offset;
+            this.span = span;
+            this.color = task.getColor();
+            this.title = task.getTitle();
+        }
+
+        public int leftPx(int unitWidthPx) {
+            return Math.round(offset * unitWidthPx);
+        }
+
+        /** Left edge relative to a window starting at column {@code firstColumn}. */
+        public int leftPx(int unitWidthPx, int firstColumn) {
+            return Math.round((offset - firstColumn) * unitWidthPx);
+        }
+
+        /** Column where the block ends. */
+        public float end() {
+            return offset + span;
+        }
+
+        public int widthPx(int unitWidthPx, int minWidthPx) {
+            return Math.max(Math.round(span * unitWidthPx), minWidthPx);
+        }
+    }
+
+    /** One swimlane track – label is the title of the first block placed on it. */
+    public static final class Row {
+        public final String label;
+        public final List<Block> blocks;
+
+        private DensityRuns[] lod;      // per zoom bucket, filled lazily on the UI thread
+
+        Row(String label, List<Block> blocks) {
+            this.label = label;
+            this.blocks = blocks;
+        }
+
+        /**
+         * Level-of-detail runs for the zoom bucket containing {@code unitWidthPx};
+         * computed on first use and cached on the row, so they survive as long
+         * as the track itself is unchanged.
+         */
+        public DensityRuns densityRuns(int unitWidthPx, int minBlockPx) {
+            int bucket = DensityRuns.bucketOf(unitWidthPx);
+            if (lod == null) lod = new DensityRuns[32];
+            DensityRuns r = lod[bucket];
+            if (r == null) lod[bucket] = r = DensityRuns.compute(blocks, 1 << bucket, minBlockPx);
+            return r;
+        }
+
+        /** Same label and the same tasks at the same positions, with the same colours and titles. */
+        boolean sameContent(Row o) {
+            if (!TextUtils.equals(label, o.label) || blocks.size() != o.blocks.size()) return false;
+            for (int i = 0; i < blocks.size(); i++) {
+                Block a = blocks.get(i), b = o.blocks.get(i);
+                if (a.task != b.task || a.offset != b.offset || a.span != b.span) return false;
+                if (a.color != b.color || !TextUtils.equals(a.title, b.title)) return false;
+            }
+            return true;
+        }
+    }
+
+    /** All tracks of one swimlane plus the fingerprint of the tasks they were packed from. */
+    public static final class Group {
+        public final String key;
+        public final List<Row> rows;
+        final long fingerprint;
+        final int culled;           // tasks of this swimlane outside the axis
+        final TrackAssignment tracks;
+
+        Group(String key, List<Row> rows, long fingerprint, int culled, TrackAssignment tracks) {
+            this.key = key;
+            this.rows = rows;
+            this.fingerprint = fingerprint;
+            this.culled = culled;
+            this.tracks = tracks;
+        }
+    }
+
+    public static final ChartLayout EMPTY = new ChartLayout(Collections.emptyList(),
+            Collections.emptyList(), TimeAxis.fixed(TimeScale.DAY, 0, 0), 0, new LayoutStats());
+
+    private final List<Group> groups;
+    private final List<Row> rows;
+    private final TimeAxis axis;
+    private final int repackedGroups;
+    private final LayoutStats stats;
+    private final Map<String, Group> byKey;     // built eagerly – layouts are read from two threads
+    private final Group[] startingAt;           // row index → swimlane whose first track it is
+
+    private ChartLayout(List<Group> groups, List<Row> rows, TimeAxis axis, int repackedGroups,
+                        LayoutStats stats) {
+        this.groups = groups;
+        this.rows = rows;
+        this.axis = axis;
+        this.repackedGroups = repackedGroups;
+        this.stats = stats;
+        this.byKey = new HashMap<>(groups.size() * 2);
+        this.startingAt = new Group[rows.size()];
+        int r = 0;
+        for (Group g : groups) {
+            byKey.put(g.key, g);
+            if (!g.rows.isEmpty() && r < startingAt.length) startingAt[r] = g;
+            r += g.rows.size();
+        }
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    public Row getRow(int index) {
+        return rows.get(index);
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    /** Swimlane whose first track is row {@code index}, or null for a later track. */
+    @Nullable
+    public Group groupStartingAt(int index) {
+        return startingAt[index];
+    }
+
+    /** Visible columns of a bounded axis; 0 for the continuous axis. */
+    public int getColumnCount() {
+        return axis.columnCount;
+    }
+
+    public TimeAxis getAxis() {
+        return axis;
+    }
+
+    /**
+     * Index of the first block in {@code row} that ends at or after
+     * {@code column}.  Only meaningful on a continuous axis, where blocks of
+     * one track never overlap and their ends are therefore sorted.
+     */
+    public static int firstBlockEndingAfter(Row row, float column) {
+        List<Block> b = row.blocks;
+        int lo = 0, hi = b.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (b.get(mid).end() < column) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    /** Swimlanes whose track assignment was updated or rebuilt in this pass (the rest were reused). */
+    public int getRepackedGroupCount() {
+        return repackedGroups;
+    }
+
+    /** Timings and counters of the pass that produced this layout. */
+    public LayoutStats getStats() {
+        return stats;
+    }
+
+    @Nullable
+    Group findGroup(String key) {
+        return byKey.get(key);
+    }
+
+
+    /**
+     * Sorts and packs every group, then maps each task onto the time axis.
+     * Tasks falling completely outside the {@code columnCount} window are
+     * dropped; their track is still reserved so rows stay stable.
+     *
+     * @param groups          swimlane key → tasks, in display order
+     * @param scale           current time scale
+     * @param customStartUnit first visible hour / month
+     * @param columnCount     number of visible columns
+     * @return the packed layout
+     */
+    public static ChartLayout compute(Map<String, List<GanttTask>> groups,
+                                      TimeScale scale,
+                                      int customStartUnit,
+                                      int columnCount) {
+        return compute(groups, scale, customStartUnit, columnCount, null);
+    }
+
+    /**
+     * Like {@link #compute(Map, TimeScale, int, int)} but re-uses every
+     * swimlane of {@code previous} whose tasks are unchanged, and inside
+     * re-packed swimlanes every track that came out identical.  Track
+     * assignments of {@code previous} are updated rather than recomputed,
+     * also when the axis differs.
+     *
+     * @param previous last layout shown, or {@code null} for a full pass
+     */
+    public static ChartLayout compute(Map<String, List<GanttTask>> groups,
+                                      TimeScale scale,
+                                      int customStartUnit,
+                                      int columnCount,
+                                      @Nullable ChartLayout previous) {
+        return compute(groups, TimeAxis.fixed(scale, customStartUnit, columnCount), previous, () -> false,
+                new LayoutStats());
+    }
+
+    /**
+     * Cancellable variant used by {@link LayoutEngine}: {@code cancelled} is
+     * polled between swimlanes and the pass is abandoned once it returns true.
+     *
+     * @param axis  column mapping (fixed or continuous)
+     * @param stats receives pack / offsetAndSpan timings and cull counts
+     * @return the packed layout, or {@code null} if the pass was cancelled
+     */
+    @Nullable
+    public static ChartLayout compute(Map<String, List<GanttTask>> groups,
+                                      TimeAxis axis,
+                                      @Nullable ChartLayout previous,
+                                      BooleanSupplier cancelled,
+                                      LayoutStats stats) {
+        return compute(groups, axis, previous, cancelled, stats, null);
+    }
+
+    /**
+     * Like {@link #compute(Map, TimeAxis, ChartLayout, BooleanSupplier, LayoutStats)},
+     * but with a {@code pool} the swimlanes are fingerprinted, packed and
+     * mapped in parallel – they share no state.  Results are still merged in
+     * the iteration order of {@code groups}, so the layout is identical to a
+     * sequential pass; pack / offsetAndSpan times are summed over all workers.
+     *
+     * @param pool runs the per-swimlane work, or {@code null} to stay on the calling thread
+     */
+    @Nullable
+    public static ChartLayout compute(Map<String, List<GanttTask>> groups,
+                                      TimeAxis axis,
+                                      @Nullable ChartLayout previous,
+                                      BooleanSupplier cancelled,
+                                      LayoutStats stats,
+                                      @Nullable ForkJoinPool pool) {
+
+        boolean sameAxis = previous != null && previous.axis.equals(axis);
+
+        Lane[] lanes = new Lane[groups.size()];
+        int n = 0;
+        for (Map.Entry<String, List<GanttTask>> e : groups.entrySet()) {
+            Group old = (previous != null) ? previous.findGroup(e.getKey()) : null;
+            lanes[n++] = new Lane(e.getKey(), e.getValue(), old);
+        }
+
+        if (pool != null && n > 1) {
+            pool.invoke(new LaneTask(lanes, 0, n, axis, sameAxis, cancelled));
+        } else {
+            for (Lane lane : lanes) {
+                if (cancelled.getAsBoolean()) return null;
+                lane.run(axis, sameAxis);
+            }
+        }
+        if (cancelled.getAsBoolean()) return null;
+
+        List<Group> out = new ArrayList<>(n);
+        List<Row> rows = new ArrayList<>();
+        int repacked = 0;
+        for (Lane lane : lanes) {                   // merge in group order
+            stats.add(lane.stats);
+            if (lane.repacked) repacked++;
+            out.add(lane.group);
+            rows.addAll(lane.group.rows);
+        }
+        return new ChartLayout(out, rows, axis, repacked, stats);
+    }
+
+    /** Work and result of one swimlane within a pass; touched by one thread at a time. */
+    private static final class Lane {
+        final String key;
+        final List<GanttTask> tasks;
+        @Nullable final Group old;
+        final LayoutStats stats = new LayoutStats();
+        Group group;
+        boolean repacked;
+
+        Lane(String key, List<GanttTask> tasks, @Nullable Group old) {
+            this.key = key;
+            this.tasks = tasks;
+            this.old = old;
+        }
+
+        void run(TimeAxis axis, boolean sameAxis) {
+            long fp = fingerprint(tasks);
+            stats.taskCount += tasks.size();
+
+            if (old != null && old.fingerprint == fp && sameAxis) {
+                group = old;                                        // untouched swimlane
+                stats.culledTasks += old.culled;
+                return;
+            }
+            TrackAssignment tracks;
+            if (old != null && old.fingerprint == fp) {
+                tracks = old.tracks;                                // axis change only
+            } else {
+                tracks = packGroup(tasks, old != null ? old.tracks : null, stats);
+                repacked = true;
+            }
+            List<Row> mapped = mapGroup(tracks, axis, sameAxis ? old : null, stats);
+            group = new Group(key, mapped, fp, stats.culledTasks, tracks);
+        }
+    }
+
+    /** Splits a range of lanes until single swimlanes run on the pool's workers. */
+    private static final class LaneTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Lane[] lanes;
+        private final int from, to;
+        private final TimeAxis axis;
+        private final boolean sameAxis;
+        private final BooleanSupplier cancelled;
+
+        LaneTask(Lane[] lanes, int from, int to, TimeAxis axis, boolean sameAxis, BooleanSupplier cancelled) {
+            this.lanes = lanes;
+            this.from = from;
+            this.to = to;
+            this.axis = axis;
+            this.sameAxis = sameAxis;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.getAsBoolean()) return;
+            if (to - from == 1) {
+                lanes[from].run(axis, sameAxis);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new LaneTask(lanes, from, mid, axis, sameAxis, cancelled),
+                    new LaneTask(lanes, mid, to, axis, sameAxis, cancelled));
+        }
+    }
+
+    private static TrackAssignment packGroup(List<GanttTask> tasks,
+                                             @Nullable TrackAssignment old,
+                                             LayoutStats stats) {
+        Trace.beginSection(GanttMetrics.TRACE_PACK);
+        long t0 = System.nanoTime();
+        TrackAssignment tracks = TrackAssignment.update(old, tasks);
+        stats.packNanos += System.nanoTime() - t0;
+        if (tracks.full) stats.fullRepacks++;
+        Trace.endSection();
+        return tracks;
+    }
+
+    private static List<Row> mapGroup(TrackAssignment tracks,
+                                      TimeAxis axis,
+                                      @Nullable Group old,
+                                      LayoutStats stats) {
+
+        Trace.beginSection(GanttMetrics.TRACE_OFFSET_AND_SPAN);
+        long t0 = System.nanoTime();
+        int trackCount = tracks.trackCount();
+        List<Row> rows = new ArrayList<>(trackCount);
+        float[] os = new float[2];          // re-used for every task
+        for (int tr = 0; tr < trackCount; tr++) {
+            List<GanttTask> onTrack = tracks.tracks.get(tr);
+            List<Block> blocks = new ArrayList<>(onTrack.size());
+            String label = null;
+            for (GanttTask t : onTrack) {
+                axis.offsetAndSpan(t, os);
+                float off = os[0];
+                float span = os[1];
+                if (axis.dated && off < 0) {            // began before the anchor – clip to column 0
+                    span += off;
+                    off = 0;
+                }
+                if (axis.isBounded()) {
+                    span = Math.min(span, axis.columnCount - off);
+                    if (off >= axis.columnCount || span <= 0) {
+                        stats.culledTasks++;
+                        continue;
+                    }
+                }
+                blocks.add(new Block(t, off, span));
+                if (TextUtils.isEmpty(label)) label = t.getTitle();
+            }
+
+            Row fresh = new Row(label, blocks);
+            Row prev = (old != null && tr < old.rows.size()) ? old.rows.get(tr) : null;
+            rows.add(prev != null && prev.sameContent(fresh) ? prev : fresh);   // unchanged track
+        }
+        stats.offsetAndSpanNanos += System.nanoTime() - t0;
+        Trace.endSection();
+        return rows;
+    }
+
+    /**
+     * Cheap 64-bit summary of everything that influences a swimlane's rows:
+     * task identity, time span, title and colour, in group order.
+     */
+    private static long fingerprint(List<GanttTask> tasks) {
+        long h = 0xcbf29ce484222325L;
+        for (GanttTask t : tasks) {
+            h = mix(h, System.identityHashCode(t));
+            h = mix(h, t.getStartMs());
+            h = mix(h, t.getEndMs());
+            h = mix(h, Objects.hashCode(t.getTitle()));
+            h = mix(h, t.getColor());
+        }
+        return mix(h, tasks.size());
+    }
+
+    private static long mix(long h, long v) {
+        h ^= v;
+        h *= 0x100000001b3L;
+        return h ^ (h >>> 29);
+    }
+}
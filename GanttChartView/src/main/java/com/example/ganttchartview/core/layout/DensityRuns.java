@@ -0,0 +1,119 @@
+package com.example.ganttchartview.core.layout;
+
+import com.example.ganttchartview.model.TaskColor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Level-of-detail view of one track: neighbouring blocks too narrow to read
+ * at the current zoom are merged into <em>density runs</em>, drawn as a
+ * single heat bar whose opacity follows how many tasks it covers.  Blocks
+ * wide enough to stand on their own stay individual runs ({@link #block} ≥ 0).
+ * <p>
+ * Runs depend only on the zoom <em>bucket</em> (unit width rounded down to a
+ * power of two), so {@link ChartLayout.Row} computes them once per bucket and
+ * re-uses them while the user scrolls or zooms within it.  Zooming in far
+ * enough leaves nothing to merge and {@link #isMerged()} turns false – the
+ * renderer then falls back to full blocks.
+ */
+public final class DensityRuns {
+
+    /** Colour of runs mixing tasks of different colours. */
+    public static final int MIXED_COLOR = 0xFF78909C;
+
+    /** Run boundaries in columns. */
+    public final float[] start;
+    public final float[] end;
+    /** Tasks merged into each run. */
+    public final int[] count;
+    /** Index into {@code Row.blocks} for single-block runs, -1 for merged ones. */
+    public final int[] block;
+    /** Fill of each run (task colour, or {@link #MIXED_COLOR}). */
+    public final int[] color;
+    public final int size;
+    private final boolean merged;
+
+    private DensityRuns(float[] start, float[] end, int[] count, int[] block, int[] color, int size) {
+        this.start = start;
+        this.end = end;
+        this.count = count;
+        this.block = block;
+        this.color = color;
+        this.size = size;
+        boolean m = false;
+        for (int i = 0; i < size && !m; i++) m = block[i] < 0;
+        this.merged = m;
+    }
+
+    /** True if at least two blocks were merged – otherwise draw plain blocks. */
+    public boolean isMerged() {
+        return merged;
+    }
+
+    /**
+     * Heat of run {@code i} in {@code [0, 1]}: tasks per minimum block width.
+     *
+     * @param unitWidthPx current column width
+     * @param minBlockPx  narrowest block the renderer draws
+     */
+    public float heat(int i, int unitWidthPx, int minBlockPx) {
+        float widthPx = Math.max(1f, (end[i] - start[i]) * unitWidthPx);
+        return Math.min(1f, count[i] * minBlockPx / widthPx);
+    }
+
+    /** Zoom bucket for a unit width: ⌊log2(px)⌋. */
+    static int bucketOf(int unitWidthPx) {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(1, unitWidthPx));
+    }
+
+    /**
+     * Merges blocks narrower than {@code minBlockPx} whose gap to the previous
+     * narrow block is below {@code minBlockPx} – i.e. blocks that would be
+     * floored to the minimum width and overlap.
+     *
+     * @param pxPerColumn lower bound of the zoom bucket
+     */
+    static DensityRuns compute(List<ChartLayout.Block> blocks, int pxPerColumn, int minBlockPx) {
+        int n = blocks.size();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Float.compare(blocks.get(a).offset, blocks.get(b).offset));
+
+        float small = minBlockPx / (float) Math.max(1, pxPerColumn);    // in columns
+
+        float[] start = new float[n], end = new float[n];
+        int[] count = new int[n], block = new int[n], color = new int[n];
+        int size = 0;
+        boolean runSmall = false;
+
+        for (int k = 0; k < n; k++) {
+            int idx = order[k];
+            ChartLayout.Block b = blocks.get(idx);
+            boolean bSmall = b.span < small;
+            int fill = fillOf(b);
+
+            int r = size - 1;
+            if (r >= 0 && runSmall && bSmall && b.offset - end[r] < small) {
+                end[r] = Math.max(end[r], b.end());
+                count[r]++;
+                block[r] = -1;
+                if (color[r] != fill) color[r] = MIXED_COLOR;
+                continue;
+            }
+            start[size] = b.offset;
+            end[size] = b.end();
+            count[size] = 1;
+            block[size] = idx;
+            color[size] = fill;
+            size++;
+            runSmall = bSmall;
+        }
+        return new DensityRuns(start, end, count, block, color, size);
+    }
+
+    private static int fillOf(ChartLayout.Block b) {
+        int c = b.task.getColor();
+        return (c == 0) ? TaskColor.BLUE.argb : c;
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.ganttchartview.core.layout;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Color;
+import android.graphics.Shader;
+import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.GradientDrawable;
 import android.util.TypedValue;
 import android.view.Gravity;
@@ -51,6 +54,16 @@ public class GridPainter {
         return d;
     }
 
+    /**
+     * Zebra background for the given absolute row index.
+     *
+     * @param rowIndex 0-based row index across all swimlanes.
+     * @return ARGB colour of the row background.
+     */
+    public static int zebraColor(int rowIndex) {
+        return (rowIndex & 1) == 0 ? 0xFFF9F9F9 : 0xFFFFFFFF;
+    }
+
     public static List<FrameLayout> buildRows(Context ctx,
                                               LinearLayoutCompat parent,
                                               int trackCount,
@@ -67,17 +80,10 @@ public class GridPainter {
             /* zebra container row */
             LinearLayoutCompat row = new LinearLayoutCompat(ctx);
             row.setOrientation(LinearLayoutCompat.HORIZONTAL);
-            row.setBackgroundColor(((zebraOffset + tr) & 1) == 0 ?
-                    0xFFF9F9F9 : 0xFFFFFFFF);
+            row.setBackgroundColor(zebraColor(zebraOffset + tr));
 
             /* label placeholder */
-            AppCompatTextView lbl = new AppCompatTextView(ctx);
-            lbl.setWidth(labelWidthPx);
-            lbl.setHeight(rowHeightPx);
-            lbl.setGravity(Gravity.CENTER_VERTICAL);
-            lbl.setTypeface(null, android.graphics.Typeface.BOLD);
-            lbl.setPadding(8, 0, 8, 0);
-            row.addView(lbl);
+            row.addView(buildLabel(ctx, labelWidthPx, rowHeightPx));
 
             /* overlay for grid-cells + later task blocks */
             FrameLayout overlay = new FrameLayout(ctx);
@@ -101,4 +107,52 @@ public class GridPainter {
         return overlays;
     }
 
+    /**
+     * Builds one empty track row whose grid is drawn by repeating
+     * {@code cellTile} (a strip of cell outlines, see
+     * {@code GridTileCache}) as the overlay background – no per-cell Views.
+     * Every child of the overlay is therefore a task block; clear it with
+     * {@link TaskBlockPool#releaseChildren releaseChildren(overlay, 0)}.
+     */
+    public static LinearLayoutCompat buildRow(Context ctx,
+                                              int columnCount,
+                                              int labelWidthPx,
+                                              int rowHeightPx,
+                                              int unitWidthPx,
+                                              Bitmap cellTile) {
+
+        LinearLayoutCompat row = new LinearLayoutCompat(ctx);
+        row.setOrientation(LinearLayoutCompat.HORIZONTAL);
+        row.addView(buildLabel(ctx, labelWidthPx, rowHeightPx));
+
+        FrameLayout overlay = new FrameLayout(ctx);
+        overlay.setLayoutParams(new LinearLayoutCompat.LayoutParams(
+                columnCount * unitWidthPx, rowHeightPx));
+        BitmapDrawable grid = new BitmapDrawable(ctx.getResources(), cellTile);
+        grid.setTileModeX(Shader.TileMode.REPEAT);
+        overlay.setBackground(grid);
+        row.addView(overlay);
+        return row;
+    }
+
+    private static AppCompatTextView buildLabel(Context ctx, int labelWidthPx, int rowHeightPx) {
+        AppCompatTextView lbl = new AppCompatTextView(ctx);
+        lbl.setWidth(labelWidthPx);
+        lbl.setHeight(rowHeightPx);
+        lbl.setGravity(Gravity.CENTER_VERTICAL);
+        lbl.setTypeface(null, android.graphics.Typeface.BOLD);
+        lbl.setPadding(8, 0, 8, 0);
+        return lbl;
+    }
+
+    /** Label placeholder of a row produced by {@link #buildRow}. */
+    public static AppCompatTextView labelOf(LinearLayoutCompat row) {
+        return (AppCompatTextView) row.getChildAt(0);
+    }
+
+    /** Cell / block overlay of a row produced by {@link #buildRow}. */
+    public static FrameLayout overlayOf(LinearLayoutCompat row) {
+        return (FrameLayout) row.getChildAt(1);
+    }
+
 }
@@ -0,0 +1,209 @@
+package com.example.ganttchartview.core.layout;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Trace;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+
+import com.example.ganttchartview.model.GanttMetrics;
+import com.example.ganttchartview.model.GanttTask;
+import com.example.ganttchartview.model.TaskStore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs grouping, sorting, packing and axis mapping off the UI thread.
+ * <p>
+ * Each {@link #submitGroups} filters the swimlanes, computes an immutable
+ * {@link ChartLayout} on a shared background thread and posts it back to the
+ * main thread, where the caller swaps it in with a single assignment.  A newer
+ * submit supersedes older ones: stale passes stop between swimlanes and their
+ * results are never delivered.
+ * <p>
+ * Small inputs (below {@link #ASYNC_THRESHOLD} tasks) are laid out inline –
+ * the thread hop would cost more than the work.
+ * <p>
+ * With {@link #setParallel parallel layout} on, background passes fan the
+ * swimlanes out over a bounded {@link ForkJoinPool} (at most
+ * {@link #MAX_PARALLELISM} workers) and merge them back in group order.
+ * <p>
+ * The filter predicate runs on the layout thread for large inputs, so it
+ * must not touch Views.  An exception thrown by a background pass is
+ * rethrown on the main thread rather than lost with the pass.
+ */
+public final class LayoutEngine {
+
+    /** Task count from which layout moves to the background thread. */
+    public static final int ASYNC_THRESHOLD = 1_000;
+
+    /** Upper bound on packing workers, whatever the core count. */
+    public static final int MAX_PARALLELISM = 8;
+
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "gantt-layout");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+
+    /** Created on first parallel pass; workers are daemon threads and idle out on their own. */
+    private static final class PackPool {
+        static final ForkJoinPool INSTANCE = new ForkJoinPool(
+                Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_PARALLELISM)));
+    }
+
+    private final Handler main = new Handler(Looper.getMainLooper());
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile ChartLayout lastComputed;      // diff base for the next pass
+    private volatile Grouping lastGrouping;         // re-used by axis-only passes
+    private int dataVersion;                        // bumped by every regrouping submit
+    private volatile boolean parallel;
+
+    /** Swimlanes built from one version of the task list + filter (read-only once published). */
+    private static final class Grouping {
+        final int version;
+        final Map<String, List<GanttTask>> groups;
+
+        Grouping(int version, Map<String, List<GanttTask>> groups) {
+            this.version = version;
+            this.groups = groups;
+        }
+    }
+
+    /**
+     * Schedules a layout pass over tasks that are already split into
+     * swimlanes (e.g. by a {@code TaskGroupIndex}); only the filter runs on
+     * the layout thread.  With {@code regroup == false} (tasks and filter
+     * unchanged since the last submit) the previous grouping is re-used and
+     * only packing runs again.
+     *
+     * @param groups  swimlanes in display order; the lists must not change afterwards
+     * @param filter  visibility predicate, or {@code null} to keep every task
+     * @param axis    column mapping
+     * @param onReady receives the layout on the main thread (skipped if superseded)
+     */
+    @MainThread
+    public void submitGroups(Map<String, List<GanttTask>> groups,
+                             @Nullable Predicate<GanttTask> filter,
+                             TimeAxis axis,
+                             boolean regroup,
+                             Consumer<ChartLayout> onReady) {
+        int n = 0;
+        for (List<GanttTask> g : groups.values()) n += g.size();
+        schedule(n, () -> filter == null ? groups : filterGroups(groups, filter), axis, regroup, onReady);
+    }
+
+    private void schedule(int taskCount,
+                          Supplier<Map<String, List<GanttTask>>> grouping,
+                          TimeAxis axis,
+                          boolean regroup,
+                          Consumer<ChartLayout> onReady) {
+
+        if (regroup) dataVersion++;
+        final int version = dataVersion;
+        final int gen = generation.incrementAndGet();
+
+        if (taskCount < ASYNC_THRESHOLD) {
+            ChartLayout l = compute(grouping, axis, version, () -> false, null);
+            onReady.accept(l);
+            return;
+        }
+
+        final BooleanSupplier stale = () -> gen != generation.get();
+        WORKER.execute(() -> {
+            Lock reading = TaskStore.readerLock();
+            reading.lock();             // no compaction under this pass, parallel workers included
+            try {
+                if (stale.getAsBoolean()) return;
+                ChartLayout l = compute(grouping, axis, version, stale,
+                        parallel ? PackPool.INSTANCE : null);
+                if (l == null) return;
+                main.post(() -> {
+                    if (!stale.getAsBoolean()) onReady.accept(l);
+                });
+            } catch (RuntimeException | Error e) {
+                main.post(() -> {
+                    throw e;            // fail where the caller can see it, not on the worker
+                });
+            } finally {
+                reading.unlock();
+            }
+        });
+    }
+
+    /**
+     * Opt-in parallel packing for very large datasets (tens of thousands of
+     * tasks spread over many swimlanes).  Only background passes are
+     * parallelised; the layout produced is the same either way.
+     */
+    public void setParallel(boolean enabled) {
+        parallel = enabled;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /** Drops any in-flight pass; its result will not be delivered. */
+    @MainThread
+    public void cancel() {
+        generation.incrementAndGet();           // queued passes return before computing
+    }
+
+    @Nullable
+    private ChartLayout compute(Supplier<Map<String, List<GanttTask>>> grouping,
+                                TimeAxis axis,
+                                int version,
+                                BooleanSupplier cancelled,
+                                @Nullable ForkJoinPool pool) {
+
+        LayoutStats stats = new LayoutStats();
+        Grouping g = lastGrouping;
+        Map<String, List<GanttTask>> groups;
+        if (g != null && g.version == version) {
+            groups = g.groups;                          // axis-only pass
+        } else {
+            Trace.beginSection(GanttMetrics.TRACE_GROUP);
+            long t0 = System.nanoTime();
+            groups = grouping.get();
+            stats.groupNanos = System.nanoTime() - t0;
+            Trace.endSection();
+            lastGrouping = new Grouping(version, groups);
+        }
+        if (cancelled.getAsBoolean()) return null;
+
+        ChartLayout l = ChartLayout.compute(groups, axis, lastComputed, cancelled, stats, pool);
+        if (l != null) lastComputed = l;
+        return l;
+    }
+
+    /** Applies {@code filter} inside every swimlane, dropping the ones left empty. */
+    private static Map<String, List<GanttTask>> filterGroups(Map<String, List<GanttTask>> groups,
+                                                             Predicate<GanttTask> filter) {
+        Map<String, List<GanttTask>> out = new LinkedHashMap<>();
+        for (Map.Entry<String, List<GanttTask>> e : groups.entrySet()) {
+            List<GanttTask> kept = null;
+            for (GanttTask t : e.getValue()) {
+                if (!filter.test(t)) continue;
+                if (kept == null) kept = new ArrayList<>();
+                kept.add(t);
+            }
+            if (kept != null) out.put(e.getKey(), kept);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ganttchartview.core.layout;
+
+/**
+ * Timings (nanoseconds) and counters gathered while computing one
+ * {@link ChartLayout}.  Filled on the layout thread, read-only once the
+ * layout is published.
+ */
+public final class LayoutStats {
+
+    long groupNanos;
+    long packNanos;
+    long offsetAndSpanNanos;
+    int taskCount;
+    int culledTasks;
+    int fullRepacks;
+
+    /** Adds the counters of one swimlane's stats (grouping time excluded). */
+    void add(LayoutStats o) {
+        packNanos += o.packNanos;
+        offsetAndSpanNanos += o.offsetAndSpanNanos;
+        taskCount += o.taskCount;
+        culledTasks += o.culledTasks;
+        fullRepacks += o.fullRepacks;
+    }
+
+    public long getGroupNanos() {
+        return groupNanos;
+    }
+
+    public long getPackNanos() {
+        return packNanos;
+    }
+
+    public long getOffsetAndSpanNanos() {
+        return offsetAndSpanNanos;
+    }
+
+    /** Tasks that passed the filter. */
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    /** Swimlanes packed from scratch rather than updated incrementally. */
+    public int getFullRepacks() {
+        return fullRepacks;
+    }
+
+    /** Tasks dropped for lying outside a bounded axis. */
+    public int getCulledTasks() {
+        return culledTasks;
+    }
+}
@@ -1,18 +1,12 @@
 package com.example.ganttchartview.core.layout;
 
 import android.content.Context;
-import android.graphics.Color;
-import android.graphics.drawable.Drawable;
 import android.graphics.drawable.GradientDrawable;
-import android.graphics.drawable.StateListDrawable;
-import android.util.StateSet;
-import android.view.Gravity;
+import android.view.View;
 import android.widget.FrameLayout;
 
 import androidx.appcompat.widget.AppCompatTextView;
 
-import com.example.ganttchartview.core.interaction.BlockGestureHelper;
-import com.example.ganttchartview.core.ui.TaskDialog;
 import com.example.ganttchartview.listener.OnTaskActionListener;
 import com.example.ganttchartview.listener.OnTaskClickListener;
 import com.example.ganttchartview.model.GanttTask;
@@ -31,54 +25,68 @@ public final class TaskBlockFactory {
                                           OnTaskClickListener clickL,
                                           OnTaskActionListener actionL, TimeScale timeScale) {
 
-        AppCompatTextView v = new AppCompatTextView(ctx){
-            @Override public boolean performClick() {
-                super.performClick();
-                if (clickL != null) {
-                    clickL.onTaskClick(task);
-                } else {
-                    TaskDialog.showDetails(getContext(), task, timeScale);
-                }
-                return true;
-            }
-        };
+        return bind(new TaskBlockView(ctx), task, pxLeft, pxWidth, rowHeight,
+                pressedColor, hourWidth, clickL, actionL, timeScale);
+    }
+
+    /** Same as {@link #build} but re-uses a block from {@code pool} when one is free. */
+    public static TaskBlockView obtain(TaskBlockPool pool,
+                                       Context ctx,
+                                       GanttTask task,
+                                       int pxLeft,
+                                       int pxWidth,
+                                       int rowHeight,
+                                       int pressedColor,
+                                       int hourWidth,
+                                       OnTaskClickListener clickL,
+                                       OnTaskActionListener actionL, TimeScale timeScale) {
+
+        return bind(pool.obtain(ctx), task, pxLeft, pxWidth, rowHeight,
+                pressedColor, hourWidth, clickL, actionL, timeScale);
+    }
+
+    /** Re-points an existing block at {@code task} and moves it to the given slot. */
+    public static TaskBlockView bind(TaskBlockView v,
+                                     GanttTask task,
+                                     int pxLeft,
+                                     int pxWidth,
+                                     int rowHeight,
+                                     int pressedColor,
+                                     int hourWidth,
+                                     OnTaskClickListener clickL,
+                                     OnTaskActionListener actionL, TimeScale timeScale) {
+
         int fill = (task.getColor()==0) ? TaskColor.BLUE.argb : task.getColor();
-        v.setBackground(createSelector(fill, pressedColor));
-        v.setText(task.getTitle());
-        v.setTextColor(Color.BLACK);
-        v.setGravity(Gravity.CENTER);
-        v.setMaxLines(2);
-        v.setEllipsize(android.text.TextUtils.TruncateAt.END);
-        v.setPadding(12,4,12,4);
+        v.bind(task, fill, pressedColor, hourWidth, clickL, actionL, timeScale);
 
-        FrameLayout.LayoutParams lp =
-                new FrameLayout.LayoutParams(pxWidth, rowHeight);
+        FrameLayout.LayoutParams lp = (v.getLayoutParams() instanceof FrameLayout.LayoutParams)
+                ? (FrameLayout.LayoutParams) v.getLayoutParams()
+                : new FrameLayout.LayoutParams(pxWidth, rowHeight);
+        lp.width = pxWidth;
+        lp.height = rowHeight;
         lp.leftMargin = pxLeft;
         v.setLayoutParams(lp);
 
-        BlockGestureHelper.attach(v, task, ctx,
-                ignored -> { if (clickL!=null) clickL.onTaskClick(task); },
-                actionL, hourWidth);
-
         return v;
     }
 
-
-    private static Drawable createSelector(int normal, int pressed){
-        GradientDrawable n = round(normal), p = round(pressed);
-        StateListDrawable s = new StateListDrawable();
-        s.addState(new int[]{android.R.attr.state_pressed}, p);
-        s.addState(StateSet.WILD_CARD, n);
-        return s;
-    }
-    private static GradientDrawable round(int c){
-        GradientDrawable g = new GradientDrawable();
-        g.setColor(c);
-        g.setCornerRadius(8f);      // same radius as before
-        return g;
+    /**
+     * Plain rounded bar standing in for a merged {@link DensityRuns} run;
+     * {@code alpha} (0–1) encodes how many tasks it covers.
+     */
+    public static View densityBar(Context ctx, int pxLeft, int pxWidth, int rowHeight,
+                                  int color, float alpha) {
+        GradientDrawable bg = new GradientDrawable();
+        bg.setCornerRadius(8f);
+        bg.setColor(color);
+        View bar = new View(ctx);
+        bar.setBackground(bg);
+        bar.setAlpha(alpha);
+        FrameLayout.LayoutParams lp = new FrameLayout.LayoutParams(pxWidth, rowHeight);
+        lp.leftMargin = pxLeft;
+        bar.setLayoutParams(lp);
+        return bar;
     }
 
-
-
     private TaskBlockFactory(){ }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package com.example.ganttchartview.core.layout;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayDeque;
+
+/**
+ * Free-list of {@link TaskBlockView}s so redraws re-bind existing blocks
+ * instead of allocating new Views, drawables and gesture detectors.
+ * Hit / miss counters are public so callers can verify the pool is warm.
+ */
+public final class TaskBlockPool {
+
+    private static final int DEFAULT_MAX_SIZE = 512;
+
+    private final ArrayDeque<TaskBlockView> free = new ArrayDeque<>();
+    private int maxSize = DEFAULT_MAX_SIZE;
+    private long hits;
+    private long misses;
+
+    /** Returns a pooled block, or a brand-new one when the pool is empty. */
+    public TaskBlockView obtain(Context ctx) {
+        TaskBlockView v = free.poll();
+        if (v != null) {
+            hits++;
+            return v;
+        }
+        misses++;
+        return new TaskBlockView(ctx);
+    }
+
+    /** Hands a detached block back; blocks beyond {@link #getMaxSize()} are dropped. */
+    public void release(TaskBlockView v) {
+        v.reset();
+        if (free.size() < maxSize) free.push(v);
+    }
+
+    /**
+     * Detaches every child of {@code parent} from index {@code from} onwards,
+     * returning the task blocks among them to the pool.
+     */
+    public void releaseChildren(ViewGroup parent, int from) {
+        for (int i = parent.getChildCount() - 1; i >= from; i--) {
+            View child = parent.getChildAt(i);
+            parent.removeViewAt(i);
+            if (child instanceof TaskBlockView) release((TaskBlockView) child);
+        }
+    }
+
+    /** Number of {@link #obtain} calls served from the pool. */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /** Number of {@link #obtain} calls that had to create a new block. */
+    public long getMissCount() {
+        return misses;
+    }
+
+    /** Blocks currently idle in the pool. */
+    public int getPooledCount() {
+        return free.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int max) {
+        maxSize = Math.max(0, max);
+        while (free.size() > maxSize) free.pop();
+    }
+
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+    }
+
+    /** Drops every pooled block (e.g. when the host is detached). */
+    public void clear() {
+        free.clear();
+    }
+}
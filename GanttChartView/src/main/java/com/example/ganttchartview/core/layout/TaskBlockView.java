@@ -0,0 +1,112 @@
+package com.example.ganttchartview.core.layout;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.drawable.GradientDrawable;
+import android.graphics.drawable.StateListDrawable;
+import android.util.StateSet;
+import android.view.Gravity;
+
+import androidx.appcompat.widget.AppCompatTextView;
+
+import com.example.ganttchartview.core.interaction.BlockGestureHelper;
+import com.example.ganttchartview.core.ui.TaskDialog;
+import com.example.ganttchartview.listener.OnTaskActionListener;
+import com.example.ganttchartview.listener.OnTaskClickListener;
+import com.example.ganttchartview.model.GanttTask;
+import com.example.ganttchartview.model.TimeScale;
+
+/**
+ * Task block used by the View-per-block path.  Background drawables and
+ * gesture wiring are created once per instance; {@link TaskBlockFactory#bind}
+ * only swaps the task, colours and listeners, so a block can be recycled
+ * through {@link TaskBlockPool} without new allocations.
+ */
+public class TaskBlockView extends AppCompatTextView implements BlockGestureHelper.Binding {
+
+    private final GradientDrawable normalBg = round();
+    private final GradientDrawable pressedBg = round();
+
+    private GanttTask task;
+    private OnTaskClickListener clickListener;
+    private OnTaskActionListener actionListener;
+    private TimeScale timeScale = TimeScale.DAY;
+    private int unitWidth;
+
+    public TaskBlockView(Context ctx) {
+        super(ctx);
+
+        StateListDrawable s = new StateListDrawable();
+        s.addState(new int[]{android.R.attr.state_pressed}, pressedBg);
+        s.addState(StateSet.WILD_CARD, normalBg);
+        setBackground(s);
+
+        setTextColor(Color.BLACK);
+        setGravity(Gravity.CENTER);
+        setMaxLines(2);
+        setEllipsize(android.text.TextUtils.TruncateAt.END);
+        setPadding(12, 4, 12, 4);
+
+        BlockGestureHelper.attach(this, ctx,
+                ignored -> { if (clickListener != null) clickListener.onTaskClick(task); },
+                this);
+    }
+
+    /** Points the block at a new task; called by {@link TaskBlockFactory#bind}. */
+    void bind(GanttTask task, int fillColor, int pressedColor, int unitWidthPx,
+              OnTaskClickListener clickL, OnTaskActionListener actionL, TimeScale scale) {
+        this.task = task;
+        this.clickListener = clickL;
+        this.actionListener = actionL;
+        this.timeScale = scale;
+        this.unitWidth = unitWidthPx;
+
+        normalBg.setColor(fillColor);
+        pressedBg.setColor(pressedColor);
+        setText(task.getTitle());
+    }
+
+    /** Clears per-task state and any half-finished swipe animation. */
+    void reset() {
+        animate().cancel();
+        setTranslationX(0f);
+        setAlpha(1f);
+        setPressed(false);
+        task = null;
+        clickListener = null;
+        actionListener = null;
+    }
+
+    @Override
+    public boolean performClick() {
+        super.performClick();
+        if (task == null) return true;
+        if (clickListener != null) {
+            clickListener.onTaskClick(task);
+        } else {
+            TaskDialog.showDetails(getContext(), task, timeScale);
+        }
+        return true;
+    }
+
+    @Override
+    public GanttTask boundTask() {
+        return task;
+    }
+
+    @Override
+    public OnTaskActionListener actionListener() {
+        return actionListener;
+    }
+
+    @Override
+    public int unitWidthPx() {
+        return unitWidth;
+    }
+
+    private static GradientDrawable round() {
+        GradientDrawable g = new GradientDrawable();
+        g.setCornerRadius(8f);      // same radius as before
+        return g;
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.ganttchartview.core.layout;
+
+import com.example.ganttchartview.model.GanttTask;
+import com.example.ganttchartview.model.TimeScale;
+
+import java.util.Objects;
+import java.util.TimeZone;
+
+/**
+ * Maps task times onto chart columns.
+ * <ul>
+ *   <li><b>fixed</b> – the classic axis: {@code startUnit..startUnit+columnCount-1}
+ *       hours / months, or the 7 weekdays; tasks outside are culled.</li>
+ *   <li><b>continuous</b> – an unbounded axis where column 0 is the hour / day /
+ *       month containing {@code originMs} and columns run in both directions.
+ *       Used by the infinite timeline.</li>
+ *   <li><b>dated</b> – a calendar axis of {@code columnCount} hours / days /
+ *       months starting at an anchor date; tasks outside are culled.  Column
+ *       boundaries are precomputed in a table, so a time maps to its column
+ *       with one estimate and at most a step or two – DST days and leap
+ *       years come out right because the table holds real instants.</li>
+ * </ul>
+ * Everything a mapping needs (zone offsets, the origin's day / month) is
+ * resolved once per axis; {@link #offsetAndSpan(long, long, float[])} then
+ * works on epoch millis with primitive arithmetic and writes into the
+ * caller's array, so the per-task layout loop allocates nothing.  Months are
+ * measured with their real length, including spans.
+ * <p>
+ * Instances are immutable and compare by value, so a layout can tell whether
+ * it was built against the same axis.
+ */
+public final class TimeAxis {
+
+    private static final long HOUR_MS = 3_600_000L;
+    private static final long DAY_MS = 24L * HOUR_MS;
+    private static final long AVG_MONTH_MS = 146_097L * DAY_MS / 4800;     // Gregorian mean month
+
+    public final TimeScale scale;
+    public final int startUnit;
+    public final int columnCount;
+    public final long originMs;
+    public final boolean continuous;
+    public final boolean dated;
+
+    private final ZoneOffsets zone;
+    private final long originDay;       // local epoch day of originMs
+    private final long originMonth;     // year * 12 + month of originMs
+    private final long[] bounds;        // dated: start of columns 0..columnCount, UTC ms
+
+    private TimeAxis(TimeScale scale, int startUnit, int columnCount, long originMs, boolean continuous,
+                     boolean dated, ZoneOffsets zone) {
+        this.scale = scale;
+        this.startUnit = startUnit;
+        this.columnCount = columnCount;
+        this.originMs = originMs;
+        this.continuous = continuous;
+        this.dated = dated;
+        this.zone = zone;
+        this.originDay = localDay(originMs);
+        this.originMonth = epochMonth(originDay);
+        long[] b = null;
+        if (dated) {
+            b = new long[columnCount + 1];
+            for (int c = 0; c <= columnCount; c++) b[c] = columnStartMs(c);    // table not yet visible here
+        }
+        bounds = b;
+    }
+
+    /** Classic bounded axis in the default time zone. */
+    public static TimeAxis fixed(TimeScale scale, int startUnit, int columnCount) {
+        return fixed(scale, startUnit, columnCount, TimeZone.getDefault());
+    }
+
+    /** Classic bounded axis. */
+    public static TimeAxis fixed(TimeScale scale, int startUnit, int columnCount, TimeZone zone) {
+        return new TimeAxis(scale, startUnit, columnCount, 0L, false, false, ZoneOffsets.of(zone));
+    }
+
+    /** Unbounded axis in the default time zone whose column 0 is the unit containing {@code anchorMs}. */
+    public static TimeAxis continuous(TimeScale scale, long anchorMs) {
+        return continuous(scale, anchorMs, TimeZone.getDefault());
+    }
+
+    /** Unbounded axis whose column 0 is the unit containing {@code anchorMs}. */
+    public static TimeAxis continuous(TimeScale scale, long anchorMs, TimeZone zone) {
+        ZoneOffsets z = ZoneOffsets.of(zone);
+        return new TimeAxis(scale, 0, 0, unitStart(scale, anchorMs, z), true, false, z);
+    }
+
+    /** Calendar axis in the default time zone: {@code columnCount} units from the one containing {@code anchorMs}. */
+    public static TimeAxis dated(TimeScale scale, long anchorMs, int columnCount) {
+        return dated(scale, anchorMs, columnCount, TimeZone.getDefault());
+    }
+
+    /** Calendar axis: {@code columnCount} units from the one containing {@code anchorMs}. */
+    public static TimeAxis dated(TimeScale scale, long anchorMs, int columnCount, TimeZone zone) {
+        if (columnCount < 1) throw new IllegalArgumentException("columnCount must be positive: " + columnCount);
+        ZoneOffsets z = ZoneOffsets.of(zone);
+        return new TimeAxis(scale, 0, columnCount, unitStart(scale, anchorMs, z), false, true, z);
+    }
+
+    /** Start of the hour / day / month containing {@code ms}. */
+    private static long unitStart(TimeScale scale, long ms, ZoneOffsets z) {
+        long local = ms + z.offsetAt(ms);
+        switch (scale) {
+            case HOUR:  return z.toUtc(Math.floorDiv(local, HOUR_MS) * HOUR_MS);
+            case DAY:   return z.toUtc(Math.floorDiv(local, DAY_MS) * DAY_MS);
+            default:    return z.toUtc(firstDayOfMonth(epochMonth(Math.floorDiv(local, DAY_MS))) * DAY_MS);
+        }
+    }
+
+    /** False for the continuous axis – nothing is culled by column. */
+    public boolean isBounded() {
+        return !continuous;
+    }
+
+    /**
+     * True when later times never map to earlier columns, i.e. blocks sorted
+     * by start are sorted by offset.  The fixed axes wrap (hour of day,
+     * weekday, month of year); continuous and dated axes do not.
+     */
+    public boolean isMonotonic() {
+        return continuous || dated;
+    }
+
+    /**
+     * Offset and span of {@code t}, in columns.
+     * @return a new {@code {offset, span}} array
+     */
+    public float[] offsetAndSpan(GanttTask t) {
+        float[] out = new float[2];
+        offsetAndSpan(t, out);
+        return out;
+    }
+
+    /** Writes {@code {offset, span}} of {@code t} into {@code out[0..1]}. */
+    public void offsetAndSpan(GanttTask t, float[] out) {
+        offsetAndSpan(t.getStartMs(), t.getEndMs(), out);
+    }
+
+    /**
+     * Offset and span, in columns, of the interval {@code [startMs, endMs]},
+     * written into {@code out[0..1]}.  Allocation-free.
+     */
+    public void offsetAndSpan(long startMs, long endMs, float[] out) {
+        if (dated && scale != TimeScale.HOUR) {
+            datedOffsetAndSpan(startMs, endMs, out);
+            return;
+        }
+        switch (scale) {
+            case HOUR: {
+                double off;
+                if (continuous) {
+                    off = (startMs - originMs) / (double) HOUR_MS;
+                } else {                                  // hour of day of the start, from startUnit
+                    long local = startMs + zone.offsetAt(startMs);
+                    off = Math.floorMod(local, DAY_MS) / (double) HOUR_MS - startUnit;
+                }
+                out[0] = (float) off;
+                out[1] = Math.max((endMs - startMs) / (float) HOUR_MS, 1f / 60f);
+                return;
+            }
+            case DAY: {                                   // whole-day cells
+                long sd = localDay(startMs), ed = localDay(endMs);
+                out[0] = continuous ? sd - originDay : Math.floorMod(sd + 4, 7);   // 1970-01-01 was a Thursday
+                out[1] = ed - sd + 1;
+                return;
+            }
+            case MONTH: {
+                double s = monthPosition(startMs), e = monthPosition(endMs);
+                double off = continuous
+                        ? s - originMonth
+                        : s - Math.floorDiv((long) Math.floor(s), 12) * 12 - (startUnit - 1);
+                out[0] = (float) off;
+                out[1] = Math.max((float) (e - s), 1f / 30f);
+                return;
+            }
+        }
+        throw new AssertionError("Unhandled scale " + scale);
+    }
+
+    /** Day / month columns of a dated axis, looked up in the boundary table. */
+    private void datedOffsetAndSpan(long startMs, long endMs, float[] out) {
+        if (scale == TimeScale.DAY) {                     // whole-day cells
+            long sd = dayColumn(startMs), ed = dayColumn(endMs);
+            out[0] = sd;
+            out[1] = ed - sd + 1;
+        } else {
+            double s = monthColumn(startMs), e = monthColumn(endMs);
+            out[0] = (float) s;
+            out[1] = Math.max((float) (e - s), 1f / 30f);
+        }
+    }
+
+    private long dayColumn(long ms) {
+        int c = tableColumn(ms, DAY_MS);
+        return c >= 0 ? c : localDay(ms) - originDay;
+    }
+
+    private double monthColumn(long ms) {
+        int c = tableColumn(ms, AVG_MONTH_MS);
+        if (c < 0) return monthPosition(ms) - originMonth;
+        return c + (ms - bounds[c]) / (double) (bounds[c + 1] - bounds[c]);
+    }
+
+    /**
+     * Column of {@code ms} from the boundary table, or -1 outside it.  The
+     * estimate from the nominal unit length is off by at most one or two
+     * columns (DST shifts, month lengths), corrected by stepping.
+     */
+    private int tableColumn(long ms, long unitMs) {
+        long[] b = bounds;
+        int n = b.length - 1;
+        if (ms < b[0] || ms >= b[n]) return -1;
+        int c = (int) Math.min(n - 1, (ms - b[0]) / unitMs);
+        while (ms < b[c]) c--;
+        while (ms >= b[c + 1]) c++;
+        return c;
+    }
+
+    /** Start time of column {@code column} on a continuous or dated axis (DST-safe). */
+    public long columnStartMs(int column) {
+        if (bounds != null && column >= 0 && column < bounds.length) return bounds[column];
+        switch (scale) {
+            case HOUR:  return originMs + column * HOUR_MS;
+            case DAY:   return zone.toUtc((originDay + column) * DAY_MS);
+            default:    return zone.toUtc(firstDayOfMonth(originMonth + column) * DAY_MS);
+        }
+    }
+
+    /** Column containing {@code timeMs} on a continuous or dated axis. */
+    public int columnAt(long timeMs) {
+        if (bounds != null && scale != TimeScale.HOUR) {
+            int c = tableColumn(timeMs, scale == TimeScale.DAY ? DAY_MS : AVG_MONTH_MS);
+            if (c >= 0) return c;
+        }
+        switch (scale) {
+            case HOUR:  return (int) Math.floorDiv(timeMs - originMs, HOUR_MS);
+            case DAY:   return (int) (localDay(timeMs) - originDay);
+            default:    return (int) (Math.floor(monthPosition(timeMs)) - originMonth);
+        }
+    }
+
+    /* ─── calendar arithmetic on epoch days ───────────────────── */
+
+    private long localDay(long ms) {
+        return Math.floorDiv(ms + zone.offsetAt(ms), DAY_MS);
+    }
+
+    /** {@code year * 12 + month} plus the elapsed fraction of that month, in local time. */
+    private double monthPosition(long ms) {
+        long local = ms + zone.offsetAt(ms);
+        long month = epochMonth(Math.floorDiv(local, DAY_MS));
+        long first = firstDayOfMonth(month);
+        long length = firstDayOfMonth(month + 1) - first;
+        return month + (local - first * DAY_MS) / (double) (length * DAY_MS);
+    }
+
+    /** {@code year * 12 + (month - 1)} of a day counted from 1970-01-01 (proleptic Gregorian). */
+    static long epochMonth(long epochDay) {
+        long z = epochDay + 719_468;                     // shift epoch to 0000-03-01
+        long era = Math.floorDiv(z, 146_097);
+        long doe = z - era * 146_097;
+        long yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;                   // March-based month
+        long year = yoe + era * 400 + (mp >= 10 ? 1 : 0);
+        long month = mp < 10 ? mp + 2 : mp - 10;         // 0-based, January = 0
+        return year * 12 + month;
+    }
+
+    /** Epoch day of the 1st of {@code epochMonth} (see {@link #epochMonth}). */
+    static long firstDayOfMonth(long epochMonth) {
+        long year = Math.floorDiv(epochMonth, 12);
+        long month = Math.floorMod(epochMonth, 12) + 1;  // 1-based
+        if (month <= 2) year--;
+        long era = Math.floorDiv(year, 400);
+        long yoe = year - era * 400;
+        long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097 + doe - 719_468;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TimeAxis)) return false;
+        TimeAxis a = (TimeAxis) o;
+        return scale == a.scale && startUnit == a.startUnit && columnCount == a.columnCount
+                && originMs == a.originMs && continuous == a.continuous && dated == a.dated
+                && zone == a.zone;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scale, startUnit, columnCount, originMs, continuous, dated, zone.id);
+    }
+}
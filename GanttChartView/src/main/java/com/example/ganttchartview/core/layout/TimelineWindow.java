@@ -0,0 +1,81 @@
+package com.example.ganttchartview.core.layout;
+
+/**
+ * Sliding window of columns over a continuous {@link TimeAxis}.
+ * <p>
+ * The scrollable content of the infinite timeline is only
+ * {@link #getColumnCount()} columns wide, made of {@link #TILE_COLUMNS}-column
+ * tiles.  When the viewport gets within {@link #EDGE_TILES} tiles of either
+ * edge the window is moved in whole tiles and the caller shifts its scroll
+ * position by the same amount, so the user sees nothing – but content size,
+ * measure and draw cost stay constant however far the plan reaches.
+ * <p>
+ * Recentring is biased in the last scroll direction: more tiles are kept
+ * ahead of the viewport than behind it, which acts as the prefetch band.
+ */
+public final class TimelineWindow {
+
+    /** Columns per tile; the window always moves by whole tiles. */
+    public static final int TILE_COLUMNS = 8;
+    /** Tiles in the window. */
+    public static final int WINDOW_TILES = 24;
+    /** Distance (in tiles) from an edge that triggers a recentre. */
+    public static final int EDGE_TILES = 4;
+
+    private static final int WINDOW_COLUMNS = TILE_COLUMNS * WINDOW_TILES;
+
+    private int firstColumn = -WINDOW_COLUMNS / 2;
+    private int direction;           // sign of the last scroll delta, 0 = unknown
+
+    /** Absolute axis column shown at the window's left edge. */
+    public int getFirstColumn() {
+        return firstColumn;
+    }
+
+    public int getColumnCount() {
+        return WINDOW_COLUMNS;
+    }
+
+    /** +1 scrolling towards the future, -1 towards the past, 0 unknown. */
+    public int getDirection() {
+        return direction;
+    }
+
+    /** Records the sign of a horizontal scroll delta. */
+    public void noteScroll(int dx) {
+        if (dx != 0) direction = Integer.signum(dx);
+    }
+
+    /** Positions the window so that {@code column} sits in its middle. */
+    public void centreOn(int column) {
+        firstColumn = alignToTile(column - WINDOW_COLUMNS / 2);
+    }
+
+    /**
+     * Moves the window if the visible columns came too close to an edge.
+     *
+     * @param firstVisible first visible column, relative to the window
+     * @param lastVisible  last visible column, relative to the window
+     * @return columns the window moved by (positive = towards the future);
+     *         the caller must scroll back by {@code shift × unitWidth}
+     */
+    public int recentre(int firstVisible, int lastVisible) {
+        int edge = EDGE_TILES * TILE_COLUMNS;
+        int count = WINDOW_COLUMNS;
+        if (firstVisible >= edge && lastVisible < count - edge) return 0;
+
+        int visible = Math.max(1, lastVisible - firstVisible + 1);
+        int spare = Math.max(0, count - visible);
+        // keep two thirds of the spare room ahead of the viewport
+        int behind = (direction < 0) ? spare * 2 / 3 : spare / 3;
+        int newFirst = alignToTile(firstColumn + firstVisible - behind);
+
+        int shift = newFirst - firstColumn;
+        firstColumn = newFirst;
+        return shift;
+    }
+
+    private static int alignToTile(int column) {
+        return Math.floorDiv(column, TILE_COLUMNS) * TILE_COLUMNS;
+    }
+}
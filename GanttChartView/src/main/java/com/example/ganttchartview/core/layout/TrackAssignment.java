@@ -0,0 +1,198 @@
+package com.example.ganttchartview.core.layout;
+
+import androidx.annotation.Nullable;
+
+import com.example.ganttchartview.model.GanttTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent task → track assignment of one swimlane, independent of the
+ * time axis.
+ * <p>
+ * A swimlane is packed from scratch once ({@link #pack}); after that every
+ * edit goes through {@link #update}, which keeps each unchanged task on its
+ * track, drops removed tasks and places new or moved ones on the lowest
+ * track they fit.  Rows therefore stay put while tasks are edited, and only
+ * the changed tasks are sorted.
+ * <p>
+ * Start and end are read once per task and everything is sorted on those
+ * copies: the main thread may call setters while a background pass runs,
+ * and a comparator reading live values could see a task move mid-sort.
+ * <p>
+ * Incremental placement can end up using more tracks than necessary, so
+ * {@link #update} falls back to a full repack when
+ * <ul>
+ *   <li>a new track had to be opened and the swimlane now uses more than
+ *       {@link #REPACK_SLACK} extra tracks over the minimum, or</li>
+ *   <li>more tasks have been placed / removed since the last full pack than
+ *       the swimlane holds.</li>
+ * </ul>
+ * Immutable once built – layouts holding it are read from two threads.
+ */
+final class TrackAssignment {
+
+    /** Extra tracks, as a fraction of the minimum, tolerated before a full repack. */
+    static final float REPACK_SLACK = 0.25f;
+
+    /** Tracks in display order; each sorted by start, blocks never overlap. */
+    final List<List<GanttTask>> tracks;
+    /** Whether this assignment came from a full pack rather than an update. */
+    final boolean full;
+
+    private final Map<GanttTask, long[]> packedAt;    // identity → {start, end} when placed
+    private final int churn;                        // tasks placed / removed since the last full pack
+
+    private TrackAssignment(List<List<GanttTask>> tracks, Map<GanttTask, long[]> packedAt,
+                            int churn, boolean full) {
+        this.tracks = tracks;
+        this.packedAt = packedAt;
+        this.churn = churn;
+        this.full = full;
+    }
+
+    int trackCount() {
+        return tracks.size();
+    }
+
+    /** Packs {@code tasks} from scratch (see {@link TrackPacker#packSorted}). */
+    static TrackAssignment pack(List<GanttTask> tasks) {
+        Map<GanttTask, long[]> at = new IdentityHashMap<>(tasks.size() * 2);
+        for (GanttTask t : tasks) at.put(t, times(t));
+        List<GanttTask> sorted = new ArrayList<>(tasks);    // groups may be shared with later passes
+        sorted.sort(byStart(at));
+        int n = sorted.size();
+        long[] starts = new long[n], ends = new long[n];
+        for (int i = 0; i < n; i++) {
+            long[] tt = at.get(sorted.get(i));
+            starts[i] = tt[0];
+            ends[i] = tt[1];
+        }
+        int[] trackOf = TrackPacker.packSorted(starts, ends);
+
+        List<List<GanttTask>> tracks = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            while (tracks.size() <= trackOf[i]) tracks.add(new ArrayList<>());
+            tracks.get(trackOf[i]).add(sorted.get(i));
+        }
+        return new TrackAssignment(freeze(tracks), at, 0, true);
+    }
+
+    /**
+     * Brings {@code old} in line with the swimlane's current {@code tasks},
+     * moving as few tasks as possible, or repacks from scratch when there is
+     * no previous assignment or it became too fragmented.
+     */
+    static TrackAssignment update(@Nullable TrackAssignment old, List<GanttTask> tasks) {
+        if (old == null) return pack(tasks);
+
+        Map<GanttTask, long[]> at = new IdentityHashMap<>(tasks.size() * 2);
+        List<GanttTask> placed = new ArrayList<>();
+        for (GanttTask t : tasks) {
+            long[] now = times(t);
+            long[] was = old.packedAt.get(t);
+            if (was == null || was[0] != now[0] || was[1] != now[1]) placed.add(t);   // new or moved
+            at.put(t, now);
+        }
+
+        int kept = 0;
+        List<List<GanttTask>> tracks = new ArrayList<>(old.tracks.size() + 1);
+        for (List<GanttTask> track : old.tracks) {
+            List<GanttTask> copy = new ArrayList<>(track.size() + 1);
+            for (GanttTask t : track) {
+                long[] was = old.packedAt.get(t);
+                long[] now = at.get(t);
+                if (now != null && now[0] == was[0] && now[1] == was[1]) copy.add(t);
+            }
+            kept += copy.size();
+            tracks.add(copy);
+        }
+        int removed = old.packedAt.size() - kept;
+        int churn = old.churn + removed + placed.size();
+        if (churn > tasks.size()) return pack(tasks);
+
+        placed.sort(byStart(at));
+        boolean opened = false;
+        for (GanttTask t : placed) {
+            long[] tt = at.get(t);
+            boolean fit = false;
+            for (List<GanttTask> track : tracks) {
+                int i = insertionPoint(track, at, tt[0]);
+                if (fits(track, at, i, tt)) {
+                    track.add(i, t);
+                    fit = true;
+                    break;
+                }
+            }
+            if (!fit) {
+                List<GanttTask> track = new ArrayList<>();
+                track.add(t);
+                tracks.add(track);
+                opened = true;
+            }
+        }
+        tracks.removeIf(List::isEmpty);         // would render as blank rows
+
+        if (opened) {
+            int min = minimumTracks(at);
+            if (tracks.size() - min > Math.max(1, (int) (min * REPACK_SLACK))) return pack(tasks);
+        }
+        return new TrackAssignment(freeze(tracks), at, churn, false);
+    }
+
+    /** True if {@code [tt[0], tt[1]]} fits between the neighbours around index {@code i}. */
+    private static boolean fits(List<GanttTask> track, Map<GanttTask, long[]> at, int i, long[] tt) {
+        if (i > 0 && at.get(track.get(i - 1))[1] + TrackPacker.EPS >= tt[0]) return false;
+        return i >= track.size() || tt[1] + TrackPacker.EPS < at.get(track.get(i))[0];
+    }
+
+    /** Index of the first task on {@code track} starting after {@code start}. */
+    private static int insertionPoint(List<GanttTask> track, Map<GanttTask, long[]> at, long start) {
+        int lo = 0, hi = track.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (at.get(track.get(mid))[0] <= start) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Largest number of tasks overlapping at one instant – what a full pack would use. */
+    private static int minimumTracks(Map<GanttTask, long[]> at) {
+        int n = at.size();
+        long[] starts = new long[n], ends = new long[n];
+        int i = 0;
+        for (long[] tt : at.values()) {
+            starts[i] = tt[0];
+            ends[i++] = tt[1];
+        }
+        Arrays.sort(starts);
+        Arrays.sort(ends);
+        int peak = 0;
+        for (int s = 0, e = 0; s < n; s++) {
+            while (e < s && ends[e] + TrackPacker.EPS < starts[s]) e++;      // track freed before this start
+            peak = Math.max(peak, s - e + 1);
+        }
+        return peak;
+    }
+
+    /** Orders tasks by the start recorded in {@code at}, never by the live value. */
+    private static Comparator<GanttTask> byStart(Map<GanttTask, long[]> at) {
+        return Comparator.comparingLong(t -> at.get(t)[0]);
+    }
+
+    private static long[] times(GanttTask t) {
+        return new long[]{t.getStartMs(), t.getEndMs()};
+    }
+
+    private static List<List<GanttTask>> freeze(List<List<GanttTask>> tracks) {
+        for (int i = 0; i < tracks.size(); i++) tracks.set(i, Collections.unmodifiableList(tracks.get(i)));
+        return Collections.unmodifiableList(tracks);
+    }
+}
@@ -1,109 +1,155 @@
 package com.example.ganttchartview.core.layout;
 
-import android.text.TextUtils;
-
 import com.example.ganttchartview.model.GanttTask;
 import com.example.ganttchartview.model.TimeScale;
 
-import java.util.ArrayList;
-import java.util.Calendar;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Date;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
 
 public class TrackPacker {
-    private static final long EPS = 1_000;
+    /** Minimum gap (ms) between two tasks sharing a track. */
+    static final long EPS = 1_000;
 
     /** Returns a map task → trackIndex (0-based). */
     public static Map<GanttTask,Integer> pack(List<GanttTask> tasks) {
-        tasks.sort(Comparator.comparing(GanttTask::getStart));
-        List<Date> trackEnd   = new ArrayList<>();
-        Map<GanttTask,Integer> trackOf = new HashMap<>();
-
-        for (GanttTask t : tasks) {
-            int track = 0;
-            while (track < trackEnd.size()
-                    && t.getStart().getTime() <= trackEnd.get(track).getTime() + EPS) {
-                track++;
-            }
-            if (track == trackEnd.size()) trackEnd.add(t.getEnd());
-            else                           trackEnd.set(track, t.getEnd());
-            trackOf.put(t, track);
-        }
+        tasks.sort(Comparator.comparingLong(GanttTask::getStartMs));
+        int[] tracks = packSorted(tasks);
+        Map<GanttTask,Integer> trackOf = new HashMap<>(tasks.size() * 2);
+        for (int i = 0; i < tracks.length; i++) trackOf.put(tasks.get(i), tracks[i]);
         return trackOf;
     }
 
-    public static float[] offsetAndSpan(GanttTask t,
-                                        TimeScale scale,
-                                        int customStartUnit) {
-
-        final long HOUR_MS = 3_600_000L;
-        final long DAY_MS  = 24L * HOUR_MS;
-
-        Calendar cs = Calendar.getInstance(), ce = Calendar.getInstance();
-        cs.setTime(t.getStart());   ce.setTime(t.getEnd());
-
-        switch (scale) {
-
-            case HOUR: {
-                Calendar base = (Calendar) cs.clone();
-                base.set(Calendar.HOUR_OF_DAY, customStartUnit);
-                base.set(Calendar.MINUTE, 0); base.set(Calendar.SECOND, 0); base.set(Calendar.MILLISECOND, 0);
+    /**
+     * Assigns every task the lowest-index track whose last task ended more
+     * than {@link #EPS} ms before it starts, opening a new track when none is
+     * free – in O(n log tracks).
+     * <p>
+     * Same result as scanning the tracks from 0 for every task: starts are
+     * non-decreasing, so a track that is free for one task stays free for all
+     * later ones until it is re-used.  Busy tracks therefore wait in a min-heap
+     * on end time and move to a min-heap of free indices once the sweep passes
+     * their end; the smallest free index is exactly what the scan would find.
+     *
+     * @param tasks tasks sorted by start (stable order decides ties)
+     * @return track index per task, parallel to {@code tasks}
+     */
+    public static int[] packSorted(List<GanttTask> tasks) {
+        int n = tasks.size();
+        long[] starts = new long[n], ends = new long[n];
+        for (int i = 0; i < n; i++) {
+            GanttTask t = tasks.get(i);
+            starts[i] = t.getStartMs();
+            ends[i] = t.getEndMs();
+        }
+        return packSorted(starts, ends);
+    }
 
-                float off  = (t.getStart().getTime() - base.getTimeInMillis()) / (float) HOUR_MS;
-                float span = (t.getEnd()  .getTime() - t.getStart().getTime()) / (float) HOUR_MS;
-                return new float[]{off, Math.max(span, 1f/60f)};
+    /**
+     * {@link #packSorted(List)} over start / end times read beforehand, e.g.
+     * by a layout pass that must not see tasks change under it.
+     *
+     * @param starts start times, non-decreasing
+     * @param ends   end times, parallel to {@code starts}
+     */
+    public static int[] packSorted(long[] starts, long[] ends) {
+        int n = starts.length;
+        int[] out = new int[n];
+        LongIntHeap busy = new LongIntHeap(16);   // end → track
+        LongIntHeap free = new LongIntHeap(16);   // track → track (key = index)
+        int trackCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            long start = starts[i];
+            while (busy.size > 0 && busy.minKey() + EPS < start) {
+                int tr = busy.minValue();
+                busy.poll();
+                free.add(tr, tr);
+            }
+            int track;
+            if (free.size > 0) {
+                track = free.minValue();
+                free.poll();
+            } else {
+                track = trackCount++;
             }
+            busy.add(ends[i], track);
+            out[i] = track;
+        }
+        return out;
+    }
 
-            case DAY: {
-                Calendar sDay = (Calendar) cs.clone();
-                sDay.set(Calendar.HOUR_OF_DAY, 0);
-                sDay.set(Calendar.MINUTE,      0);
-                sDay.set(Calendar.SECOND,      0);
-                sDay.set(Calendar.MILLISECOND, 0);
+    /** Binary min-heap of (long key, int value) pairs in primitive arrays. */
+    private static final class LongIntHeap {
+        long[] keys;
+        int[] values;
+        int size;
 
-                Calendar eDay = (Calendar) ce.clone();
-                eDay.set(Calendar.HOUR_OF_DAY, 0);
-                eDay.set(Calendar.MINUTE,      0);
-                eDay.set(Calendar.SECOND,      0);
-                eDay.set(Calendar.MILLISECOND, 0);
+        LongIntHeap(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+        }
 
-                float off  = sDay.get(Calendar.DAY_OF_WEEK) - Calendar.SUNDAY;
+        long minKey() {
+            return keys[0];
+        }
 
-                long diffDays = (eDay.getTimeInMillis() - sDay.getTimeInMillis()) / DAY_MS;
-                float span = diffDays + 1;
+        int minValue() {
+            return values[0];
+        }
 
-                return new float[]{off, span};
+        void add(long key, int value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
             }
+            int i = size++;
+            while (i > 0) {                         // sift up
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) break;
+                keys[i] = keys[parent];
+                values[i] = values[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
 
-            case MONTH: {
-                float daysInMonth = cs.getActualMaximum(Calendar.DAY_OF_MONTH);
-                float off = (cs.get(Calendar.MONTH) - (customStartUnit - 1))
-                        + (cs.get(Calendar.DAY_OF_MONTH)-1
-                        + (cs.get(Calendar.HOUR_OF_DAY)+cs.get(Calendar.MINUTE)/60f)/24f)
-                        / daysInMonth;
-
-                float span = (ce.getTimeInMillis() - cs.getTimeInMillis()) / (30f * DAY_MS);
-                return new float[]{off, Math.max(span, 1f/30f)};
+        void poll() {
+            long key = keys[--size];
+            int value = values[size];
+            int i = 0;
+            while (true) {                          // sift down
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+                if (keys[child] >= key) break;
+                keys[i] = keys[child];
+                values[i] = values[child];
+                i = child;
             }
+            keys[i] = key;
+            values[i] = value;
         }
-        throw new AssertionError("Unhandled scale "+scale);
     }
 
-    public static Map<String,List<GanttTask>> group(List<GanttTask> src,
-                                                    Predicate<GanttTask> filter){
-        Map<String,List<GanttTask>> out = new LinkedHashMap<>();
-        for (GanttTask t : src){
-            if (!filter.test(t)) continue;
-            String key = TextUtils.isEmpty(t.getAssignedTo())
-                    ? t.getTitle() : t.getAssignedTo();
-            out.computeIfAbsent(key,k->new ArrayList<>()).add(t);
-        }
-        return out;
+    /**
+     * Offset / span of {@code t} on the classic fixed axis.  Builds a
+     * {@link TimeAxis} per call – layout code keeps one axis per pass and
+     * uses {@link TimeAxis#offsetAndSpan(GanttTask, float[])} instead.
+     */
+    public static float[] offsetAndSpan(GanttTask t,
+                                        TimeScale scale,
+                                        int customStartUnit) {
+        return TimeAxis.fixed(scale, customStartUnit, 0).offsetAndSpan(t);
+    }
+
+    /** Swimlane of {@code t}: its assignee, or its title when unassigned. */
+    public static String groupKey(GanttTask t) {
+        String who = t.getAssignedTo();
+        return who == null || who.isEmpty() ? t.getTitle() : who;
     }
     private TrackPacker() {}
 }
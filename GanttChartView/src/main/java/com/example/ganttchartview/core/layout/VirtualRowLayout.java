@@ -0,0 +1,259 @@
+package com.example.ganttchartview.core.layout;
+
+import android.content.Context;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Vertical list of equally tall track rows that only materialises the rows
+ * intersecting its scrolling parent's viewport (plus a small prefetch margin),
+ * in the spirit of RecyclerView.  Rows leaving the window go to a scrap heap
+ * and are re-bound to new positions as the user scrolls.
+ * <p>
+ * The parent is expected to be a vertical {@code ScrollView}; call
+ * {@link #fillViewport()} from its scroll listener.  When the parent is laid
+ * out at full content height (e.g. for a PDF / PNG snapshot) every row is bound.
+ * <p>
+ * When the adapter reports stable {@linkplain Adapter#getRowKey row keys},
+ * {@link #setRows} keeps every bound row whose key is still present – only
+ * moving it if its position shifted – and binds just the rows that changed.
+ */
+public class VirtualRowLayout extends ViewGroup {
+
+    /** Supplies and binds row Views. */
+    public interface Adapter {
+        /** Creates an unbound row sized for the current geometry. */
+        View createRow(ViewGroup parent);
+
+        /** Fills {@code row} with the content of track {@code position}. */
+        void bindRow(View row, int position);
+
+        /** Called before a row is dropped for good, e.g. to pool its children. */
+        default void recycleRow(View row) {
+        }
+
+        /**
+         * Identity of the content at {@code position}; a row bound to the same
+         * key is reused as-is.  {@code null} (the default) always re-binds.
+         */
+        default Object getRowKey(int position) {
+            return null;
+        }
+
+        /** A reused row moved to another position (e.g. to refresh zebra colour). */
+        default void moveRow(View row, int position) {
+            bindRow(row, position);
+        }
+    }
+
+    private static final int DEFAULT_PREFETCH_ROWS = 4;
+
+    private final SparseArray<View> bound = new SparseArray<>();
+    private final ArrayDeque<View> scrap = new ArrayDeque<>();
+    private final Map<View, Object> keyOfRow = new IdentityHashMap<>();
+    private final Map<Object, View> retained = new IdentityHashMap<>();
+    private final Map<View, Integer> retainedPos = new IdentityHashMap<>();
+
+    private Adapter adapter;
+    private int rowCount;
+    private int rowHeight = 1;
+    private int rowWidth;
+    private int prefetchRows = DEFAULT_PREFETCH_ROWS;
+
+    public VirtualRowLayout(Context ctx) {
+        super(ctx);
+    }
+
+    public void setAdapter(Adapter adapter) {
+        this.adapter = adapter;
+        discardRows();
+    }
+
+    /** Rows bound above and below the visible window. */
+    public void setPrefetchRows(int rows) {
+        prefetchRows = Math.max(0, rows);
+        fillViewport();
+    }
+
+    /**
+     * Updates row count and geometry.  A change in size drops every row View
+     * (including scrap, which was built for the old cell widths); otherwise
+     * bound rows whose key survived are kept and the rest re-bound.
+     */
+    public void setRows(int count, int rowHeightPx, int rowWidthPx) {
+        if (rowHeightPx != rowHeight || rowWidthPx != rowWidth) {
+            rowHeight = Math.max(1, rowHeightPx);
+            rowWidth = rowWidthPx;
+            discardRows();
+        } else {
+            retainRows();
+        }
+        rowCount = Math.max(0, count);
+        requestLayout();
+        fillViewport();
+    }
+
+    /** Re-binds every materialised row – call after the data behind it changed. */
+    public void notifyDataSetChanged() {
+        recycleRows();
+        fillViewport();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /** Number of row Views currently attached. */
+    public int getBoundRowCount() {
+        return bound.size();
+    }
+
+    /* ─── window management ──────────────────────────────────── */
+
+    /**
+     * Binds rows that entered the viewport and recycles those that left it.
+     * Safe to call on every scroll tick: untouched rows are left alone.
+     */
+    public void fillViewport() {
+        if (adapter == null) return;
+
+        int first, last;
+        if (rowCount == 0) {
+            first = 0;
+            last = -1;
+        } else {
+            int top, bottom;
+            ViewParent p = getParent();
+            if (p instanceof View && ((View) p).getHeight() > 0) {
+                View scroller = (View) p;
+                top = scroller.getScrollY() - getTop();
+                bottom = top + scroller.getHeight();
+            } else {                                    // not laid out yet – assume one screen
+                top = 0;
+                bottom = getResources().getDisplayMetrics().heightPixels;
+            }
+            first = Math.max(0, top / rowHeight - prefetchRows);
+            last = Math.min(rowCount - 1, (bottom - 1) / rowHeight + prefetchRows);
+        }
+
+        for (int i = bound.size() - 1; i >= 0; i--) {
+            int pos = bound.keyAt(i);
+            if (pos < first || pos > last) {
+                View row = bound.valueAt(i);
+                bound.removeAt(i);
+                removeViewInLayout(row);
+                scrap.push(row);
+            }
+        }
+
+        boolean changed = false;
+        for (int pos = first; pos <= last; pos++) {
+            if (bound.get(pos) != null) continue;
+
+            Object key = adapter.getRowKey(pos);
+            View row = (key != null && !retained.isEmpty()) ? retained.remove(key) : null;
+            if (row != null) {                                  // same content – at most a move
+                Integer was = retainedPos.remove(row);
+                if (was == null || was != pos) adapter.moveRow(row, pos);
+            } else {
+                row = scrap.isEmpty() ? adapter.createRow(this) : scrap.pop();
+                adapter.bindRow(row, pos);
+                addViewInLayout(row, -1, generateDefaultLayoutParams(), true);
+                keyOfRow.put(row, key);
+            }
+            placeRow(row, pos);
+            bound.put(pos, row);
+            changed = true;
+        }
+
+        if (!retained.isEmpty()) {                              // kept rows whose content is gone
+            for (View row : retained.values()) {
+                removeViewInLayout(row);
+                scrap.push(row);
+            }
+            retained.clear();
+            retainedPos.clear();
+            changed = true;
+        }
+        if (changed) invalidate();
+    }
+
+    private void placeRow(View row, int pos) {
+        row.measure(MeasureSpec.makeMeasureSpec(rowWidth, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(rowHeight, MeasureSpec.EXACTLY));
+        int top = pos * rowHeight;
+        row.layout(0, top, rowWidth, top + rowHeight);
+    }
+
+    /** Moves every bound row to scrap so it gets re-bound on the next fill. */
+    private void recycleRows() {
+        for (int i = 0; i < bound.size(); i++) scrap.push(bound.valueAt(i));
+        bound.clear();
+        keyOfRow.clear();
+        removeAllViewsInLayout();
+    }
+
+    /**
+     * Parks bound rows by key (still attached) so the next fill can match them
+     * against the new data; rows without a key go straight to scrap.
+     */
+    private void retainRows() {
+        for (int i = 0; i < bound.size(); i++) {
+            View row = bound.valueAt(i);
+            Object key = keyOfRow.get(row);
+            if (key != null && !retained.containsKey(key)) {
+                retained.put(key, row);
+                retainedPos.put(row, bound.keyAt(i));
+            } else {
+                removeViewInLayout(row);
+                scrap.push(row);
+            }
+        }
+        bound.clear();
+    }
+
+    /** Drops bound rows <em>and</em> scrap – used when row geometry changes. */
+    private void discardRows() {
+        if (adapter != null) {
+            for (int i = 0; i < bound.size(); i++) adapter.recycleRow(bound.valueAt(i));
+            for (View row : scrap) adapter.recycleRow(row);
+            for (View row : retained.values()) adapter.recycleRow(row);
+        }
+        bound.clear();
+        scrap.clear();
+        keyOfRow.clear();
+        retained.clear();
+        retainedPos.clear();
+        removeAllViewsInLayout();
+    }
+
+    /* ─── ViewGroup plumbing ─────────────────────────────────── */
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        setMeasuredDimension(resolveSize(rowWidth, widthMeasureSpec),
+                resolveSize(rowCount * rowHeight, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        fillViewport();
+        for (int i = 0; i < bound.size(); i++) placeRow(bound.valueAt(i), bound.keyAt(i));
+    }
+
+    @Override
+    protected LayoutParams generateDefaultLayoutParams() {
+        return new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+    }
+
+    @Override
+    public boolean shouldDelayChildPressedState() {
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ganttchartview.core.layout;
+
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * UTC offsets of one time zone, cached as {@code [from, to)} ranges between
+ * transitions.  After the ranges a chart touches have been seen once,
+ * {@link #offsetAt} is a binary search over primitive arrays – no
+ * {@code Calendar}, no allocation.
+ * <p>
+ * Shared per zone id and safe to use from the layout and UI threads: a miss
+ * publishes a fresh copy of the arrays.
+ */
+final class ZoneOffsets {
+
+    private static final Map<String, ZoneOffsets> BY_ID = new ConcurrentHashMap<>();
+    private static final int MAX_RANGES = 512;
+
+    /** Sorted, non-overlapping ranges with a constant offset. */
+    private static final class Ranges {
+        final long[] from;
+        final long[] to;
+        final int[] offset;
+
+        Ranges(long[] from, long[] to, int[] offset) {
+            this.from = from;
+            this.to = to;
+            this.offset = offset;
+        }
+    }
+
+    final String id;
+    private final ZoneRules rules;
+    private volatile Ranges ranges = new Ranges(new long[0], new long[0], new int[0]);
+
+    private ZoneOffsets(String id, ZoneRules rules) {
+        this.id = id;
+        this.rules = rules;
+    }
+
+    static ZoneOffsets of(TimeZone zone) {
+        return BY_ID.computeIfAbsent(zone.getID(), id -> new ZoneOffsets(id, zone.toZoneId().getRules()));
+    }
+
+    /** Offset (ms) to add to {@code utcMs} to get local wall-clock time. */
+    int offsetAt(long utcMs) {
+        Ranges r = ranges;
+        int i = Arrays.binarySearch(r.from, utcMs);
+        if (i < 0) i = -i - 2;                  // last range starting at or before utcMs
+        if (i >= 0 && utcMs < r.to[i]) return r.offset[i];
+        return load(utcMs);
+    }
+
+    /** UTC instant of local wall-clock time {@code localMs} (gaps resolve forwards, like Calendar). */
+    long toUtc(long localMs) {
+        int o1 = offsetAt(localMs - offsetAt(localMs));
+        long utc = localMs - o1;
+        int o2 = offsetAt(utc);
+        if (o2 == o1) return utc;
+        long alt = localMs - o2;
+        if (offsetAt(alt) == o2) return alt;
+        return localMs - Math.min(o1, o2);      // skipped by a forward shift: the pre-gap offset lands after it
+    }
+
+    private synchronized int load(long utcMs) {
+        Instant at = Instant.ofEpochMilli(utcMs);
+        int offset = rules.getOffset(at).getTotalSeconds() * 1000;
+        ZoneOffsetTransition prev = rules.previousTransition(at.plusMillis(1));   // includes one at utcMs
+        ZoneOffsetTransition next = rules.nextTransition(at);
+        long from = prev != null ? prev.toEpochSecond() * 1000 : Long.MIN_VALUE;
+        long to = next != null ? next.toEpochSecond() * 1000 : Long.MAX_VALUE;
+
+        Ranges r = ranges;
+        int n = r.from.length;
+        if (n >= MAX_RANGES) n = 0;             // pathological spread of dates – start over
+        int pos = n == 0 ? 0 : Arrays.binarySearch(r.from, 0, n, from);
+        if (pos >= 0 && n > 0) return offset;   // raced with another thread
+        pos = n == 0 ? 0 : -pos - 1;
+
+        long[] f = new long[n + 1], t = new long[n + 1];
+        int[] o = new int[n + 1];
+        System.arraycopy(r.from, 0, f, 0, pos);
+        System.arraycopy(r.to, 0, t, 0, pos);
+        System.arraycopy(r.offset, 0, o, 0, pos);
+        f[pos] = from;
+        t[pos] = to;
+        o[pos] = offset;
+        System.arraycopy(r.from, pos, f, pos + 1, n - pos);
+        System.arraycopy(r.to, pos, t, pos + 1, n - pos);
+        System.arraycopy(r.offset, pos, o, pos + 1, n - pos);
+        ranges = new Ranges(f, t, o);
+        return offset;
+    }
+}
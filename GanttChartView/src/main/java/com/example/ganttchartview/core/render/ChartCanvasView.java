@@ -0,0 +1,551 @@
+package com.example.ganttchartview.core.render;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.RenderNode;
+import android.graphics.Typeface;
+import android.os.Build;
+import android.os.Trace;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.TypedValue;
+import android.view.GestureDetector;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.ganttchartview.core.interaction.BlockGestureHelper;
+import com.example.ganttchartview.core.layout.ChartLayout;
+import com.example.ganttchartview.core.layout.DensityRuns;
+import com.example.ganttchartview.core.layout.GridPainter;
+import com.example.ganttchartview.core.layout.TimeAxis;
+import com.example.ganttchartview.core.schedule.ResourceLoadEngine;
+import com.example.ganttchartview.core.ui.TaskDialog;
+import com.example.ganttchartview.listener.OnTaskActionListener;
+import com.example.ganttchartview.listener.OnTaskClickListener;
+import com.example.ganttchartview.model.GanttMetrics;
+import com.example.ganttchartview.model.GanttTask;
+import com.example.ganttchartview.model.TaskColor;
+import com.example.ganttchartview.model.TimeScale;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single View that paints the whole chart body – zebra stripes, grid cells,
+ * row labels and task blocks – straight from a {@link ChartLayout}.
+ * <p>
+ * Only rows / columns intersecting the current clip are drawn, so cost
+ * follows what is on screen rather than the number of tasks.  Grid cells
+ * are blitted from a {@link GridTileCache} instead of being stroked one by
+ * one.  Tap,
+ * long-press and swipe on blocks mirror {@link BlockGestureHelper}.
+ * <p>
+ * On a continuous axis the View only spans a {@linkplain #setWindow window}
+ * of columns; blocks are located inside each row by binary search, so a
+ * multi-year plan draws as fast as a single week.
+ * <p>
+ * On API 29+ with hardware acceleration each track's label and blocks are
+ * recorded once into a {@link RenderNode} (see {@link RowNodeCache}) and
+ * replayed until that track changes; API 28 draws every visible row directly.
+ * <p>
+ * With a {@link ResourceLoadEngine} set, a thin utilization strip runs along
+ * the top of each swimlane's first track – shaded by how many of its tasks
+ * run at once, red where that exceeds the capacity.  It is drawn live, so
+ * cached track nodes stay valid.  On the classic fixed axes, which wrap, it
+ * shows the highest load of any day / week / year at each point.
+ */
+public class ChartCanvasView extends View {
+
+    private static final float CORNER_PX = 8f;       // same radius as TaskBlockFactory
+    private static final int LABEL_PAD_PX = 8;
+    private static final int BLOCK_PAD_PX = 12;
+    private static final float DENSITY_MIN_ALPHA = 0.35f;   // lightest heat bar
+    private static final int LOAD_COLOR = TaskColor.GREEN.argb;
+    private static final int OVERLOAD_COLOR = Color.parseColor("#E53935");
+
+    private ChartLayout layout = ChartLayout.EMPTY;
+
+    private int labelWidth = 180;
+    private int rowHeight = 72;
+    private int unitWidth = 120;
+    private int minBlockPx;
+    private int pressedColor = Color.parseColor("#FFDDDD");
+    private TimeScale timeScale = TimeScale.DAY;
+    private int windowFirst;
+    private int windowColumns = -1;   // < 0: all columns of the layout
+    @Nullable private ResourceLoadEngine load;   // utilization strips when set
+    private final Map<String, WrappedLoadRuns> wrappedLoad = new HashMap<>();   // per swimlane, this layout
+    private final int stripPx;
+
+    private OnTaskClickListener clickListener;
+    private OnTaskActionListener actionListener;
+
+    private final Paint fillPaint = new Paint();
+    private final Paint gridPaint = new Paint();
+    private final Paint blockPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint labelPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint blockTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Rect clip = new Rect();
+    private final Rect tileSrc = new Rect();
+    private final Rect tileDst = new Rect();
+    private GridTileCache gridTiles = new GridTileCache();
+    private final RectF blockRect = new RectF();
+    private final Paint stripPaint = new Paint();
+    private final float[] segment = new float[2];
+    private final Rect recordClip = new Rect();
+    private final RowNodeCache rowNodes =
+            Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q ? new RowNodeCache() : null;
+    private final RowNodeCache.Recorder recorder = this::recordRow;
+
+    private final GestureDetector gestures;
+    private GanttTask pressedTask;
+    private ChartLayout.Row pressedRow;      // drawn live, not from its cached node
+    private GanttTask swipedTask;
+    private ChartLayout.Row swipedRow;
+    private float swipeProgress;     // 0 → 1 → 0 while the swipe nudge runs
+    private int swipeDir;
+
+    public ChartCanvasView(Context ctx) {
+        super(ctx);
+
+        float textPx = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, 14,
+                getResources().getDisplayMetrics());
+        minBlockPx = (int) (3 * getResources().getDisplayMetrics().density + 0.5f);
+        stripPx = (int) (4 * getResources().getDisplayMetrics().density + 0.5f);
+
+        fillPaint.setStyle(Paint.Style.FILL);
+        gridPaint.setStyle(Paint.Style.STROKE);
+        gridPaint.setStrokeWidth(1f);
+        gridPaint.setColor(Color.parseColor("#EEEEEE"));
+
+        labelPaint.setTextSize(textPx);
+        labelPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        labelPaint.setColor(Color.BLACK);
+
+        blockTextPaint.setTextSize(textPx);
+        blockTextPaint.setColor(Color.BLACK);
+        blockTextPaint.setTextAlign(Paint.Align.CENTER);
+
+        gestures = new GestureDetector(ctx, new BlockGestures());
+    }
+
+    /* ─── configuration ──────────────────────────────────────── */
+
+    /** Replaces the packed rows and redraws. */
+    public void setLayout(@NonNull ChartLayout layout) {
+        this.layout = layout;
+        wrappedLoad.clear();                        // built for the previous axis
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && rowNodes != null) {
+            rowNodes.retain(layout.getRows());      // unchanged tracks keep their node
+        }
+        requestLayout();
+        invalidate();
+    }
+
+    public ChartLayout getLayout() {
+        return layout;
+    }
+
+    public void setGeometry(int labelWidthPx, int rowHeightPx, int unitWidthPx) {
+        if (labelWidth == labelWidthPx && rowHeight == rowHeightPx && unitWidth == unitWidthPx) return;
+        labelWidth = labelWidthPx;
+        rowHeight = rowHeightPx;
+        unitWidth = unitWidthPx;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && rowNodes != null) {
+            rowNodes.invalidateAll();
+        }
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Restricts the View to columns {@code firstColumn .. firstColumn+columnCount-1}
+     * of the layout's axis.  Pass a negative count to show the whole bounded axis.
+     */
+    public void setWindow(int firstColumn, int columnCount) {
+        if (windowFirst == firstColumn && windowColumns == columnCount) return;
+        boolean resize = windowColumns != columnCount;
+        windowFirst = firstColumn;
+        windowColumns = columnCount;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && rowNodes != null) {
+            rowNodes.invalidateAll();
+        }
+        if (resize) requestLayout();
+        invalidate();
+    }
+
+    private int columns() {
+        return windowColumns >= 0 ? windowColumns : layout.getColumnCount();
+    }
+
+    /** Shares a tile cache with other renderers of the same chart. */
+    public void setGridTiles(@NonNull GridTileCache tiles) {
+        gridTiles = tiles;
+        invalidate();
+    }
+
+    public void setColors(int gridColor, int taskPressedColor) {
+        gridPaint.setColor(gridColor);
+        pressedColor = taskPressedColor;     // only used by live rows – nodes stay valid
+        invalidate();
+    }
+
+    /** Shows a utilization strip per swimlane from {@code load}; null hides them. */
+    public void setLoad(@Nullable ResourceLoadEngine load) {
+        this.load = load;
+        wrappedLoad.clear();
+        invalidate();
+    }
+
+    public void setTimeScale(TimeScale scale) {
+        timeScale = scale;
+    }
+
+    public void setListeners(@Nullable OnTaskClickListener click,
+                             @Nullable OnTaskActionListener action) {
+        clickListener = click;
+        actionListener = action;
+    }
+
+    /* ─── measuring & drawing ────────────────────────────────── */
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int w = labelWidth + columns() * unitWidth;
+        int h = layout.getRowCount() * rowHeight;
+        setMeasuredDimension(resolveSize(w, widthMeasureSpec), resolveSize(h, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        int rows = layout.getRowCount();
+        if (rows == 0 || rowHeight <= 0 || unitWidth <= 0) return;
+        if (!canvas.getClipBounds(clip)) return;
+
+        Trace.beginSection(GanttMetrics.TRACE_DRAW);
+        try {
+            drawRows(canvas, rows);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    private void drawRows(Canvas canvas, int rows) {
+        int cols = columns();
+        int gridRight = labelWidth + cols * unitWidth;
+
+        int firstRow = Math.max(0, clip.top / rowHeight);
+        int lastRow = Math.min(rows - 1, (clip.bottom - 1) / rowHeight);
+        int firstCol = Math.max(0, (clip.left - labelWidth) / unitWidth);
+        int lastCol = Math.min(cols - 1, (clip.right - labelWidth) / unitWidth);
+
+        Bitmap tile = gridTiles.tile(rowHeight, unitWidth, gridPaint.getColor());
+        int tileCols = gridTiles.getTileColumns();
+        int firstTileCol = firstCol - firstCol % tileCols;
+
+        for (int r = firstRow; r <= lastRow; r++) {
+            int top = r * rowHeight;
+            int bottom = top + rowHeight;
+
+            fillPaint.setColor(GridPainter.zebraColor(r));
+            canvas.drawRect(0, top, gridRight, bottom, fillPaint);
+
+            for (int c = firstTileCol; c <= lastCol; c += tileCols) {
+                int w = Math.min(tileCols, cols - c) * unitWidth;
+                int x = labelWidth + c * unitWidth;
+                tileSrc.set(0, 0, w, rowHeight);
+                tileDst.set(x, top, x + w, bottom);
+                canvas.drawBitmap(tile, tileSrc, tileDst, null);
+            }
+
+            ChartLayout.Row row = layout.getRow(r);
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && rowNodes != null
+                    && canvas.isHardwareAccelerated() && row != pressedRow && row != swipedRow) {
+                int save = canvas.save();
+                canvas.translate(0, top);
+                canvas.drawRenderNode(rowNodes.get(row, gridRight, rowHeight, recorder));
+                canvas.restoreToCount(save);
+                drawLoadStrip(canvas, r, top, gridRight, windowFirst + firstCol, windowFirst + lastCol + 1);
+                continue;
+            }
+
+            drawLabel(canvas, row.label, top);
+            int save = canvas.save();
+            canvas.clipRect(labelWidth, top, gridRight, bottom);   // blocks never spill into labels
+            drawBlocks(canvas, row, top, windowFirst + firstCol, windowFirst + lastCol + 1);
+            canvas.restoreToCount(save);
+            drawLoadStrip(canvas, r, top, gridRight, windowFirst + firstCol, windowFirst + lastCol + 1);
+        }
+    }
+
+    /**
+     * Utilization strip of the swimlane starting at row {@code r}, over axis
+     * columns {@code [fromCol, toCol)}: one band per concurrency step, or per
+     * {@link WrappedLoadRuns run} on an axis that wraps.
+     */
+    private void drawLoadStrip(Canvas canvas, int r, int top, int gridRight, int fromCol, int toCol) {
+        if (load == null) return;
+        ChartLayout.Group g = layout.groupStartingAt(r);
+        if (g == null) return;
+        ResourceLoadEngine.Profile p = load.profile(g.key);
+        TimeAxis axis = layout.getAxis();
+        int cap = load.getCapacity();
+
+        int save = canvas.save();
+        canvas.clipRect(labelWidth, top, gridRight, top + stripPx);
+        if (axis.isMonotonic()) {
+            for (int i = p.firstEndingAfter(axis.columnStartMs(fromCol)); i < p.size(); i++) {
+                int count = p.getCount(i);
+                if (count == 0) continue;                    // idle gap
+                axis.offsetAndSpan(p.getStartMs(i), p.getEndMs(i), segment);
+                if (segment[0] > toCol) break;
+                drawLoadBand(canvas, top, segment[0], segment[1], count, cap);
+            }
+        } else {                                             // steps of every period fold onto the same columns
+            WrappedLoadRuns runs = wrappedLoad.get(g.key);
+            if (runs == null || runs.profile != p) wrappedLoad.put(g.key, runs = WrappedLoadRuns.of(p, axis));
+            for (int i = runs.firstEndingAfter(fromCol); i < runs.size && runs.start[i] <= toCol; i++) {
+                drawLoadBand(canvas, top, runs.start[i], runs.end[i] - runs.start[i], runs.count[i], cap);
+            }
+        }
+        canvas.restoreToCount(save);
+    }
+
+    private void drawLoadBand(Canvas canvas, int top, float startCol, float spanCols, int count, int cap) {
+        float left = labelWidth + (startCol - windowFirst) * unitWidth;
+        float width = Math.max(spanCols * unitWidth, 1f);
+        if (left + width < clip.left || left > clip.right) return;
+
+        if (count > cap) {
+            stripPaint.setColor(OVERLOAD_COLOR);
+        } else {
+            stripPaint.setColor(LOAD_COLOR);
+            stripPaint.setAlpha(Math.round(255 * (0.3f + 0.7f * count / cap)));
+        }
+        canvas.drawRect(left, top, left + width, top + stripPx, stripPaint);
+    }
+
+    /**
+     * {@link RowNodeCache.Recorder}: label and every block of the window for
+     * one track, at y = 0.  Culling is disabled while recording – the node is
+     * replayed at any scroll position.
+     */
+    private void recordRow(Canvas canvas, ChartLayout.Row row) {
+        int cols = columns();
+        int gridRight = labelWidth + cols * unitWidth;
+        recordClip.set(clip);
+        clip.set(0, 0, gridRight, rowHeight);
+
+        drawLabel(canvas, row.label, 0);
+        canvas.save();
+        canvas.clipRect(labelWidth, 0, gridRight, rowHeight);
+        drawBlocks(canvas, row, 0, windowFirst, windowFirst + cols);
+        canvas.restore();
+
+        clip.set(recordClip);
+    }
+
+    @Nullable
+    private ChartLayout.Row rowAt(float y) {
+        if (rowHeight <= 0 || y < 0) return null;
+        int r = (int) (y / rowHeight);
+        return r < layout.getRowCount() ? layout.getRow(r) : null;
+    }
+
+    private void drawLabel(Canvas canvas, String label, int top) {
+        if (TextUtils.isEmpty(label) || clip.left >= labelWidth) return;
+        float avail = labelWidth - 2 * LABEL_PAD_PX;
+        CharSequence text = TextUtils.ellipsize(label, labelPaint, avail, TextUtils.TruncateAt.END);
+        float baseline = top + (rowHeight - labelPaint.ascent() - labelPaint.descent()) / 2f;
+        canvas.drawText(text, 0, text.length(), LABEL_PAD_PX, baseline, labelPaint);
+    }
+
+    /**
+     * Draws the blocks of {@code row} overlapping axis columns {@code [fromCol, toCol)},
+     * or its {@linkplain DensityRuns density runs} when blocks are too narrow to read.
+     */
+    private void drawBlocks(Canvas canvas, ChartLayout.Row row, int top, int fromCol, int toCol) {
+        DensityRuns lod = row.densityRuns(unitWidth, minBlockPx);
+        if (lod.isMerged()) {
+            drawRuns(canvas, row, lod, top, toCol);
+            return;
+        }
+
+        List<ChartLayout.Block> blocks = row.blocks;
+        boolean sorted = layout.getAxis().isMonotonic();     // fixed axes wrap by hour of day / weekday / month
+        int from = sorted ? ChartLayout.firstBlockEndingAfter(row, fromCol) : 0;
+        for (int i = from; i < blocks.size(); i++) {
+            ChartLayout.Block b = blocks.get(i);
+            if (sorted && b.offset > toCol) break;           // sorted by start – rest is off-screen
+            drawBlock(canvas, b, top);
+        }
+    }
+
+    /** LOD path – single runs as normal blocks, merged runs as one heat bar each. */
+    private void drawRuns(Canvas canvas, ChartLayout.Row row, DensityRuns lod, int top, int toCol) {
+        for (int i = 0; i < lod.size; i++) {
+            if (lod.start[i] > toCol) break;                 // runs are sorted by start
+            if (lod.block[i] >= 0) {
+                drawBlock(canvas, row.blocks.get(lod.block[i]), top);
+                continue;
+            }
+            float left = labelWidth + (lod.start[i] - windowFirst) * unitWidth;
+            float width = Math.max((lod.end[i] - lod.start[i]) * unitWidth, minBlockPx);
+            if (left + width < clip.left || left > clip.right) continue;
+
+            blockPaint.setColor(lod.color[i]);
+            blockPaint.setAlpha(Math.round(255 * (DENSITY_MIN_ALPHA
+                    + (1f - DENSITY_MIN_ALPHA) * lod.heat(i, unitWidth, minBlockPx))));
+            blockRect.set(left, top, left + width, top + rowHeight);
+            canvas.drawRoundRect(blockRect, CORNER_PX, CORNER_PX, blockPaint);
+        }
+    }
+
+    private void drawBlock(Canvas canvas, ChartLayout.Block b, int top) {
+        float left = labelWidth + b.leftPx(unitWidth, windowFirst);
+        float width = b.widthPx(unitWidth, minBlockPx);
+        if (left + width < clip.left || left > clip.right) return;
+
+        GanttTask t = b.task;
+        int fill = (t.getColor() == 0) ? TaskColor.BLUE.argb : t.getColor();
+        blockPaint.setColor(t == pressedTask ? pressedColor : fill);
+
+        int save = -1;
+        if (t == swipedTask && swipeProgress > 0f) {
+            save = canvas.save();
+            canvas.translate(swipeDir * unitWidth * 0.4f * swipeProgress, 0);
+            blockPaint.setAlpha(Math.round(255 * (1f - 0.8f * swipeProgress)));
+        }
+
+        blockRect.set(left, top, left + width, top + rowHeight);
+        canvas.drawRoundRect(blockRect, CORNER_PX, CORNER_PX, blockPaint);
+
+        float avail = width - 2 * BLOCK_PAD_PX;
+        if (avail > 0 && !TextUtils.isEmpty(t.getTitle())) {
+            CharSequence text = TextUtils.ellipsize(t.getTitle(), blockTextPaint, avail,
+                    TextUtils.TruncateAt.END);
+            float baseline = top + (rowHeight - blockTextPaint.ascent() - blockTextPaint.descent()) / 2f;
+            canvas.drawText(text, 0, text.length(), left + width / 2f, baseline, blockTextPaint);
+        }
+
+        if (save >= 0) canvas.restoreToCount(save);
+    }
+
+    /* ─── interaction ────────────────────────────────────────── */
+
+    /**
+     * Finds the block under the given content coordinates.
+     * @return the task, or {@code null} when the point hits empty grid
+     */
+    @Nullable
+    public GanttTask taskAt(float x, float y) {
+        if (rowHeight <= 0) return null;
+        int r = (int) (y / rowHeight);
+        if (y < 0 || r >= layout.getRowCount()) return null;
+
+        List<ChartLayout.Block> blocks = layout.getRow(r).blocks;
+        for (int i = blocks.size() - 1; i >= 0; i--) {       // last drawn = on top
+            ChartLayout.Block b = blocks.get(i);
+            float left = labelWidth + b.leftPx(unitWidth, windowFirst);
+            if (x >= left && x < left + b.widthPx(unitWidth, minBlockPx)) return b.task;
+        }
+        return null;
+    }
+
+    @SuppressLint("ClickableViewAccessibility")
+    @Override
+    public boolean onTouchEvent(MotionEvent ev) {
+        boolean handled = gestures.onTouchEvent(ev);
+        int action = ev.getActionMasked();
+        if ((action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) && pressedTask != null) {
+            pressedTask = null;
+            pressedRow = null;
+            invalidate();
+        }
+        return handled || super.onTouchEvent(ev);
+    }
+
+    @Override
+    public boolean performClick() {
+        super.performClick();
+        return true;
+    }
+
+    private void animateSwipe(GanttTask task, ChartLayout.Row row, int dir) {
+        swipedTask = task;
+        swipedRow = row;
+        swipeDir = dir;
+        ValueAnimator anim = ValueAnimator.ofFloat(0f, 1f, 0f);
+        anim.setDuration(450);
+        anim.addUpdateListener(a -> {
+            swipeProgress = (float) a.getAnimatedValue();
+            invalidate();
+        });
+        anim.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator a) {
+                if (swipedTask == task) {
+                    swipedTask = null;
+                    swipedRow = null;
+                    invalidate();
+                }
+            }
+        });
+        anim.start();
+    }
+
+    private final class BlockGestures extends GestureDetector.SimpleOnGestureListener {
+        private static final int THRESHOLD = 80, VELOCITY = 200;
+
+        @Override
+        public boolean onDown(@NonNull MotionEvent e) {
+            pressedTask = taskAt(e.getX(), e.getY());
+            pressedRow = (pressedTask != null) ? rowAt(e.getY()) : null;
+            if (pressedTask != null) invalidate();
+            return pressedTask != null;
+        }
+
+        @Override
+        public boolean onSingleTapUp(@NonNull MotionEvent e) {
+            GanttTask t = taskAt(e.getX(), e.getY());
+            if (t == null) return false;
+            performClick();
+            if (clickListener != null) clickListener.onTaskClick(t);
+            else TaskDialog.showDetails(getContext(), t, timeScale);
+            return true;
+        }
+
+        @Override
+        public void onLongPress(@NonNull MotionEvent e) {
+            GanttTask t = taskAt(e.getX(), e.getY());
+            if (t != null) BlockGestureHelper.showActions(getContext(), t, actionListener);
+        }
+
+        @Override
+        public boolean onFling(@Nullable MotionEvent e1, @NonNull MotionEvent e2, float vx, float vy) {
+            if (e1 == null) return false;
+            GanttTask t = taskAt(e1.getX(), e1.getY());
+            float dx = e2.getX() - e1.getX();
+            if (t != null && Math.abs(dx) > THRESHOLD && Math.abs(vx) > VELOCITY) {
+                int dir = (dx > 0) ? +1 : -1;
+                if (actionListener != null) actionListener.onSwipe(t, dir);
+                animateSwipe(t, rowAt(e1.getY()), dir);
+                return true;
+            }
+            return false;
+        }
+    }
+}
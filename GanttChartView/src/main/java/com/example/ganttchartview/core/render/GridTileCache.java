@@ -0,0 +1,69 @@
+package com.example.ganttchartview.core.render;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * Pre-rendered strip of grid cell outlines, one row tall and
+ * {@link #getTileColumns()} columns wide, on a transparent background.
+ * <p>
+ * The grid never changes while scrolling, so instead of stroking every cell
+ * on every frame the renderers blit this tile (canvas) or repeat it as a
+ * background (View rows).  The bitmap is rebuilt only when row height, unit
+ * width or grid colour change; the old one is simply dropped – rows that
+ * still reference it are about to be rebuilt for the new geometry anyway.
+ * The chart also drops it while detached from its window.
+ */
+public final class GridTileCache {
+
+    /** Upper bound for the tile width, to keep the bitmap small at high zoom. */
+    private static final int MAX_TILE_PX = 2048;
+    private static final int MAX_TILE_COLUMNS = 16;
+
+    private final Paint strokePaint = new Paint();
+    private Bitmap tile;
+    private int rowHeight, unitWidth, gridColor, tileColumns;
+
+    public GridTileCache() {
+        strokePaint.setStyle(Paint.Style.STROKE);
+        strokePaint.setStrokeWidth(1f);
+    }
+
+    /**
+     * Returns the tile for the given geometry, rendering it on first use.
+     *
+     * @param rowHeightPx  cell height
+     * @param unitWidthPx  cell width
+     * @param color        stroke colour
+     */
+    public Bitmap tile(int rowHeightPx, int unitWidthPx, int color) {
+        int h = Math.max(1, rowHeightPx), w = Math.max(1, unitWidthPx);      // compare as stored
+        if (tile != null && rowHeight == h && unitWidth == w && gridColor == color) {
+            return tile;
+        }
+        rowHeight = h;
+        unitWidth = w;
+        gridColor = color;
+        tileColumns = Math.max(1, Math.min(MAX_TILE_COLUMNS, MAX_TILE_PX / unitWidth));
+
+        tile = Bitmap.createBitmap(tileColumns * unitWidth, rowHeight, Bitmap.Config.ARGB_8888);
+        Canvas c = new Canvas(tile);
+        strokePaint.setColor(color);
+        for (int col = 0; col < tileColumns; col++) {
+            int x = col * unitWidth;
+            c.drawRect(x + .5f, .5f, x + unitWidth - .5f, rowHeight - .5f, strokePaint);
+        }
+        return tile;
+    }
+
+    /** Columns covered by the current tile (valid after {@link #tile}). */
+    public int getTileColumns() {
+        return tileColumns;
+    }
+
+    /** Drops the cached bitmap; the next {@link #tile} call renders a new one. */
+    public void clear() {
+        tile = null;
+    }
+}
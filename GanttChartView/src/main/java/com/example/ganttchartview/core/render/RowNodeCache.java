@@ -0,0 +1,76 @@
+package com.example.ganttchartview.core.render;
+
+import android.graphics.Canvas;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+import com.example.ganttchartview.core.layout.ChartLayout;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One recorded {@link RenderNode} per packed track, keyed by {@link ChartLayout.Row}
+ * identity.  Because layouts re-use the Row of every unchanged track, a
+ * node is recorded once and replayed on every later frame – scrolling,
+ * press highlights and edits to other tracks cost no re-recording.  A
+ * track whose task changed colour or title is not "unchanged": the layout
+ * compares those too and hands out a new Row, so its node is recorded afresh.
+ * <p>
+ * Anything that changes how <em>every</em> row looks (geometry, column
+ * window) must call {@link #invalidateAll()}.
+ */
+@RequiresApi(Build.VERSION_CODES.Q)
+final class RowNodeCache {
+
+    /** Draws one track at the origin of {@code canvas}. */
+    interface Recorder {
+        void record(Canvas canvas, ChartLayout.Row row);
+    }
+
+    private final Map<ChartLayout.Row, RenderNode> nodes = new IdentityHashMap<>();
+
+    /** Returns the node for {@code row}, recording it first if needed. */
+    RenderNode get(ChartLayout.Row row, int width, int height, Recorder recorder) {
+        RenderNode node = nodes.get(row);
+        if (node != null && node.hasDisplayList()
+                && node.getWidth() == width && node.getHeight() == height) {
+            return node;
+        }
+        if (node == null) {
+            node = new RenderNode("gantt-row");
+            nodes.put(row, node);
+        }
+        node.setPosition(0, 0, width, height);
+        RecordingCanvas c = node.beginRecording(width, height);
+        try {
+            recorder.record(c, row);
+        } finally {
+            node.endRecording();
+        }
+        return node;
+    }
+
+    /** Drops nodes of rows that are no longer part of {@code rows}. */
+    void retain(List<ChartLayout.Row> rows) {
+        if (nodes.isEmpty()) return;
+        Set<ChartLayout.Row> live = Collections.newSetFromMap(new IdentityHashMap<>(rows.size() * 2));
+        live.addAll(rows);
+        nodes.entrySet().removeIf(e -> {
+            if (live.contains(e.getKey())) return false;
+            e.getValue().discardDisplayList();
+            return true;
+        });
+    }
+
+    /** Forces every row to be re-recorded on its next draw. */
+    void invalidateAll() {
+        for (RenderNode n : nodes.values()) n.discardDisplayList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ganttchartview.core.render;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.SparseArray;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import com.example.ganttchartview.core.layout.TimeAxis;
+import com.example.ganttchartview.model.TimeScale;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Column header for the infinite timeline and the calendar axis.  Spans the
+ * same column window as the chart body (the whole axis, for the calendar
+ * axis) and paints only the cells inside the clip; labels
+ * are formatted on demand and cached per axis column, and
+ * {@link #prefetch} formats the ones about to scroll in ahead of time.
+ */
+public class TimelineHeaderView extends View {
+
+    private static final int MAX_CACHED_LABELS = 1_024;
+
+    private TimeAxis axis = TimeAxis.continuous(TimeScale.DAY, System.currentTimeMillis());
+    private int labelWidth = 180;
+    private int unitWidth = 120;
+    private int cellHeight = 72;
+    private int windowFirst;
+    private int windowColumns;
+
+    private final SparseArray<String> labels = new SparseArray<>();
+    private SimpleDateFormat format;
+    private final Date scratchDate = new Date();
+
+    private final TextPaint textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Rect clip = new Rect();
+
+    public TimelineHeaderView(Context ctx) {
+        super(ctx);
+        textPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        textPaint.setColor(Color.BLACK);
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        format = formatFor(axis.scale);
+    }
+
+    /** Switches to another axis; cached labels are dropped. */
+    public void setAxis(@NonNull TimeAxis axis) {
+        if (axis.equals(this.axis)) return;
+        if (axis.scale != this.axis.scale) format = formatFor(axis.scale);
+        this.axis = axis;
+        labels.clear();
+        invalidate();
+    }
+
+    public void setGeometry(int labelWidthPx, int unitWidthPx, int cellHeightPx, float textSizePx) {
+        labelWidth = labelWidthPx;
+        unitWidth = unitWidthPx;
+        cellHeight = cellHeightPx;
+        textPaint.setTextSize(textSizePx);
+        requestLayout();
+        invalidate();
+    }
+
+    /** Same column window as the chart body. */
+    public void setWindow(int firstColumn, int columnCount) {
+        if (windowFirst == firstColumn && windowColumns == columnCount) return;
+        boolean resize = windowColumns != columnCount;
+        windowFirst = firstColumn;
+        windowColumns = columnCount;
+        if (resize) requestLayout();
+        invalidate();
+    }
+
+    /** Formats the labels of axis columns {@code from .. to} so they are ready when scrolled in. */
+    public void prefetch(int from, int to) {
+        for (int c = Math.min(from, to); c <= Math.max(from, to); c++) labelFor(c);
+    }
+
+    private String labelFor(int column) {
+        String s = labels.get(column);
+        if (s == null) {
+            if (labels.size() >= MAX_CACHED_LABELS) labels.clear();
+            scratchDate.setTime(axis.columnStartMs(column));
+            s = format.format(scratchDate);
+            labels.put(column, s);
+        }
+        return s;
+    }
+
+    private static SimpleDateFormat formatFor(TimeScale scale) {
+        switch (scale) {
+            case HOUR:  return new SimpleDateFormat("HH:00", Locale.getDefault());
+            case DAY:   return new SimpleDateFormat("EEE d MMM", Locale.getDefault());
+            default:    return new SimpleDateFormat("MMM yyyy", Locale.getDefault());
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int w = labelWidth + windowColumns * unitWidth;
+        setMeasuredDimension(resolveSize(w, widthMeasureSpec), resolveSize(cellHeight, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        if (unitWidth <= 0 || windowColumns <= 0) return;
+        if (!canvas.getClipBounds(clip)) return;
+
+        int firstCol = Math.max(0, (clip.left - labelWidth) / unitWidth);
+        int lastCol = Math.min(windowColumns - 1, (clip.right - labelWidth) / unitWidth);
+        float baseline = (cellHeight - textPaint.ascent() - textPaint.descent()) / 2f;
+
+        for (int c = firstCol; c <= lastCol; c++) {
+            String label = labelFor(windowFirst + c);
+            CharSequence text = TextUtils.ellipsize(label, textPaint, unitWidth, TextUtils.TruncateAt.END);
+            float cx = labelWidth + c * unitWidth + unitWidth / 2f;
+            canvas.drawText(text, 0, text.length(), cx, baseline, textPaint);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.ganttchartview.core.render;
+
+import com.example.ganttchartview.core.layout.TimeAxis;
+import com.example.ganttchartview.core.schedule.ResourceLoadEngine;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Utilization strip of one swimlane on an axis that is not monotonic (the
+ * classic fixed axes wrap by hour of day / weekday / month).  Every busy
+ * step of the load profile is mapped onto the axis once, cut to its columns,
+ * and the overlapping pieces from different days / weeks / years are merged
+ * into non-overlapping runs carrying the highest count of any of them.
+ * <p>
+ * Built once per layout and profile, so a frame only draws the runs inside
+ * the clip instead of re-mapping the whole profile.
+ */
+final class WrappedLoadRuns {
+
+    /** Profile the runs were built from; a different one means they are stale. */
+    final ResourceLoadEngine.Profile profile;
+    /** Run boundaries in columns, ascending and non-overlapping. */
+    final float[] start;
+    final float[] end;
+    /** Highest concurrency of any step mapped onto each run. */
+    final int[] count;
+    final int size;
+
+    private WrappedLoadRuns(ResourceLoadEngine.Profile profile, float[] start, float[] end, int[] count, int size) {
+        this.profile = profile;
+        this.start = start;
+        this.end = end;
+        this.count = count;
+        this.size = size;
+    }
+
+    static WrappedLoadRuns of(ResourceLoadEngine.Profile p, TimeAxis axis) {
+        int n = p.size();
+        float[] l = new float[n], r = new float[n];
+        int[] c = new int[n];
+        float[] seg = new float[2];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            if (p.getCount(i) == 0) continue;                 // idle gap
+            axis.offsetAndSpan(p.getStartMs(i), p.getEndMs(i), seg);
+            float a = Math.max(0f, seg[0]), b = Math.min(axis.columnCount, seg[0] + seg[1]);
+            if (b <= a) continue;                             // off the axis
+            l[m] = a;
+            r[m] = b;
+            c[m++] = p.getCount(i);
+        }
+
+        Integer[] byStart = new Integer[m];
+        for (int i = 0; i < m; i++) byStart[i] = i;
+        Arrays.sort(byStart, (x, y) -> Float.compare(l[x], l[y]));
+        float[] points = new float[2 * m];
+        System.arraycopy(l, 0, points, 0, m);
+        System.arraycopy(r, 0, points, m, m);
+        Arrays.sort(points);
+
+        // sweep the boundaries; the heap's top is the highest count still covering the sweep
+        PriorityQueue<Integer> active = new PriorityQueue<>(Math.max(1, m), (x, y) -> Integer.compare(c[y], c[x]));
+        float[] rs = new float[2 * m], re = new float[2 * m];
+        int[] rc = new int[2 * m];
+        int k = 0;
+        for (int q = 0, next = 0; q + 1 < points.length; q++) {
+            float x = points[q];
+            if (x == points[q + 1]) continue;
+            while (next < m && l[byStart[next]] <= x) active.add(byStart[next++]);
+            while (!active.isEmpty() && r[active.peek()] <= x) active.poll();     // ended; lazily dropped
+            if (active.isEmpty()) continue;
+            int v = c[active.peek()];
+            if (k > 0 && rc[k - 1] == v && re[k - 1] == x) {
+                re[k - 1] = points[q + 1];
+            } else {
+                rs[k] = x;
+                re[k] = points[q + 1];
+                rc[k++] = v;
+            }
+        }
+        return new WrappedLoadRuns(p, rs, re, rc, k);
+    }
+
+    /** First run ending after column {@code col}; {@link #size} when none does. */
+    int firstEndingAfter(float col) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (end[mid] > col) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,498 @@
+package com.example.ganttchartview.core.schedule;
+
+import androidx.annotation.MainThread;
+
+import com.example.ganttchartview.model.Dependency;
+import com.example.ganttchartview.model.GanttTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Critical-path schedule of a task network, kept up to date edit by edit.
+ * <ul>
+ *   <li><b>early start</b> – the task's own start, pushed later by its
+ *       predecessors' links (the own start acts as "start no earlier than").</li>
+ *   <li><b>late finish</b> – the latest finish that does not delay the project
+ *       finish (the latest early finish of any task).</li>
+ *   <li><b>slack</b> – late start − early start; critical tasks have none.</li>
+ * </ul>
+ * Every node carries a position in a topological order that is repaired
+ * locally when a link is added (Pearce–Kelly), so an edit only re-evaluates
+ * the tasks it can reach: the downstream cone for early dates and, when a
+ * duration changes, the upstream cone for late dates.  Late dates are kept
+ * relative to the project finish, so a later finish does not touch them.
+ * Propagation stops wherever a value comes out unchanged.
+ * <p>
+ * Task dates are read when a task is added and on {@link #taskChanged}.
+ */
+@MainThread
+public final class CriticalPathEngine {
+
+    private static final class Node {
+        final GanttTask task;
+        int ord;                // position in the topological order
+        long start;             // task start / duration as last seen
+        long dur;
+        long es;                // early start
+        long tail;              // project finish − late finish
+        final ArrayList<Link> in = new ArrayList<>(0);
+        final ArrayList<Link> out = new ArrayList<>(0);
+        boolean seen;           // queued / visited by the current pass
+
+        Node(GanttTask task) {
+            this.task = task;
+        }
+    }
+
+    private static final class Link {
+        final Dependency dep;
+        final Node from;
+        final Node to;
+
+        Link(Dependency dep, Node from, Node to) {
+            this.dep = dep;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private static final Comparator<Node> BY_ORD = (a, b) -> Integer.compare(a.ord, b.ord);
+
+    private final Map<GanttTask, Node> nodes = new IdentityHashMap<>();
+    private final TreeMap<Long, int[]> finishes = new TreeMap<>();     // early finish → task count
+    private int nextOrd;
+    private int linkCount;
+
+    /* ─── tasks ──────────────────────────────────────────────── */
+
+    public boolean contains(GanttTask t) {
+        return nodes.containsKey(t);
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public void clear() {
+        nodes.clear();
+        finishes.clear();
+        nextOrd = 0;
+        linkCount = 0;
+    }
+
+    /** Adds {@code t} without links; no-op if it is already scheduled. */
+    public void addTask(GanttTask t) {
+        if (nodes.containsKey(t)) return;
+        Node n = new Node(t);
+        n.ord = nextOrd++;
+        n.start = n.es = t.getStartMs();
+        n.dur = t.getEndMs() - n.start;
+        nodes.put(t, n);
+        addFinish(n.es + n.dur);
+    }
+
+    /** Removes {@code t} and every link touching it. */
+    public void removeTask(GanttTask t) {
+        Node n = nodes.get(t);
+        if (n == null) return;
+        List<Node> after = new ArrayList<>(n.out.size());
+        List<Node> before = new ArrayList<>(n.in.size());
+        for (Link l : n.out) {
+            l.to.in.remove(l);
+            after.add(l.to);
+        }
+        for (Link l : n.in) {
+            l.from.out.remove(l);
+            before.add(l.from);
+        }
+        linkCount -= n.in.size() + n.out.size();
+        nodes.remove(t);
+        removeFinish(n.es + n.dur);
+        for (Node s : after) forward(s);
+        for (Node p : before) backward(p);
+    }
+
+    /**
+     * Replaces the task set with {@code tasks}, keeping the links whose two
+     * ends are still present, and recomputes everything in one pass.
+     */
+    public void rebuild(Collection<GanttTask> tasks) {
+        List<Dependency> keep = new ArrayList<>();
+        for (Node n : nodes.values()) {
+            for (Link l : n.out) keep.add(l.dep);
+        }
+        clear();
+        for (GanttTask t : tasks) addTask(t);
+        List<Dependency> kept = new ArrayList<>(keep.size());
+        for (Dependency d : keep) {
+            if (nodes.containsKey(d.getPredecessor()) && nodes.containsKey(d.getSuccessor())) kept.add(d);
+        }
+        addDependencies(kept);
+    }
+
+    /** Re-reads {@code t}'s dates and updates the tasks they influence. */
+    public void taskChanged(GanttTask t) {
+        Node n = nodes.get(t);
+        if (n == null) return;
+        long start = t.getStartMs(), dur = t.getEndMs() - start;
+        if (start == n.start && dur == n.dur) return;
+        boolean resized = dur != n.dur;
+        removeFinish(n.es + n.dur);
+        n.start = start;
+        n.dur = dur;
+        addFinish(n.es + n.dur);
+        forward(n);
+        if (resized) backward(n);
+    }
+
+    /* ─── links ──────────────────────────────────────────────── */
+
+    /**
+     * Adds {@code d}.
+     * @return false if an equal link already exists
+     * @throws IllegalArgumentException if a task is not scheduled or the link would close a cycle
+     */
+    public boolean addDependency(Dependency d) {
+        Node u = node(d.getPredecessor()), v = node(d.getSuccessor());
+        if (hasLink(u, d)) return false;
+        if (u.ord > v.ord) reorder(u, v);
+        link(d, u, v);
+        forward(v);
+        backward(u);
+        return true;
+    }
+
+    /**
+     * Adds many links at once: one topological sort and one full pass
+     * instead of a repair per link.  Links already present are skipped.
+     * @throws IllegalArgumentException if a task is not scheduled or the links form a cycle
+     *         (nothing is added then)
+     */
+    public void addDependencies(Collection<Dependency> deps) {
+        List<Link> added = new ArrayList<>(deps.size());
+        for (Dependency d : deps) {
+            node(d.getPredecessor());
+            node(d.getSuccessor());
+        }
+        for (Dependency d : deps) {
+            Node u = nodes.get(d.getPredecessor()), v = nodes.get(d.getSuccessor());
+            if (!hasLink(u, d)) added.add(link(d, u, v));
+        }
+        if (added.isEmpty()) return;
+        if (!sortAll()) {
+            for (Link l : added) unlink(l);
+            throw new IllegalArgumentException("Dependencies would create a cycle");
+        }
+        recomputeAll();
+    }
+
+    /** @return false if no equal link exists */
+    public boolean removeDependency(Dependency d) {
+        Node u = nodes.get(d.getPredecessor());
+        if (u == null) return false;
+        for (Link l : u.out) {
+            if (l.dep.equals(d)) {
+                unlink(l);
+                forward(l.to);
+                backward(u);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Links into and out of {@code t}. */
+    public List<Dependency> getDependencies(GanttTask t) {
+        Node n = nodes.get(t);
+        if (n == null) return Collections.emptyList();
+        List<Dependency> out = new ArrayList<>(n.in.size() + n.out.size());
+        for (Link l : n.in) out.add(l.dep);
+        for (Link l : n.out) out.add(l.dep);
+        return out;
+    }
+
+    public int getDependencyCount() {
+        return linkCount;
+    }
+
+    /* ─── schedule ───────────────────────────────────────────── */
+
+    /** Latest early finish of any task, or 0 when there are none. */
+    public long getProjectFinishMs() {
+        return finishes.isEmpty() ? 0 : finishes.lastKey();
+    }
+
+    public long getEarlyStartMs(GanttTask t) {
+        return node(t).es;
+    }
+
+    public long getEarlyFinishMs(GanttTask t) {
+        Node n = node(t);
+        return n.es + n.dur;
+    }
+
+    public long getLateFinishMs(GanttTask t) {
+        return getProjectFinishMs() - node(t).tail;
+    }
+
+    public long getLateStartMs(GanttTask t) {
+        return getLateFinishMs(t) - node(t).dur;
+    }
+
+    /** How far {@code t} can slip without delaying the project finish. */
+    public long getSlackMs(GanttTask t) {
+        return slack(node(t), getProjectFinishMs());
+    }
+
+    public boolean isCritical(GanttTask t) {
+        return getSlackMs(t) <= 0;
+    }
+
+    /** Tasks without slack, by early start. */
+    public List<GanttTask> getCriticalPath() {
+        long finish = getProjectFinishMs();
+        List<Node> critical = new ArrayList<>();
+        for (Node n : nodes.values()) {
+            if (slack(n, finish) <= 0) critical.add(n);
+        }
+        critical.sort((a, b) -> a.es != b.es ? Long.compare(a.es, b.es) : BY_ORD.compare(a, b));
+        List<GanttTask> out = new ArrayList<>(critical.size());
+        for (Node n : critical) out.add(n.task);
+        return out;
+    }
+
+    /* ─── propagation ────────────────────────────────────────── */
+
+    private static long slack(Node n, long finish) {
+        return finish - n.tail - n.dur - n.es;
+    }
+
+    /** Earliest start {@code n}'s own start and incoming links allow. */
+    private static long earlyStart(Node n) {
+        long es = n.start;
+        for (Link l : n.in) {
+            Node p = l.from;
+            long lag = l.dep.getLagMs(), c;
+            switch (l.dep.getType()) {
+                case FINISH_TO_START:   c = p.es + p.dur + lag; break;
+                case START_TO_START:    c = p.es + lag; break;
+                case FINISH_TO_FINISH:  c = p.es + p.dur + lag - n.dur; break;
+                default:                c = p.es + lag - n.dur; break;     // START_TO_FINISH
+            }
+            if (c > es) es = c;
+        }
+        return es;
+    }
+
+    /** Project finish − latest finish {@code n}'s outgoing links allow. */
+    private static long tail(Node n) {
+        long tail = 0;
+        for (Link l : n.out) {
+            Node s = l.to;
+            long lag = l.dep.getLagMs(), c;
+            switch (l.dep.getType()) {
+                case FINISH_TO_START:   c = s.tail + s.dur + lag; break;
+                case START_TO_START:    c = s.tail + s.dur + lag - n.dur; break;
+                case FINISH_TO_FINISH:  c = s.tail + lag; break;
+                default:                c = s.tail + lag - n.dur; break;   // START_TO_FINISH
+            }
+            if (c > tail) tail = c;
+        }
+        return tail;
+    }
+
+    /**
+     * Recomputes early starts downstream of {@code seed} in topological
+     * order; successors are only visited when a value actually moved.
+     */
+    private void forward(Node seed) {
+        PriorityQueue<Node> q = new PriorityQueue<>(BY_ORD);
+        q.add(seed);
+        seed.seen = true;
+        while (!q.isEmpty()) {
+            Node n = q.poll();
+            n.seen = false;
+            long es = earlyStart(n);
+            boolean moved = es != n.es;
+            if (moved) {
+                removeFinish(n.es + n.dur);
+                n.es = es;
+                addFinish(n.es + n.dur);
+            }
+            if (!moved && n != seed) continue;
+            for (Link l : n.out) {
+                if (!l.to.seen) {
+                    l.to.seen = true;
+                    q.add(l.to);
+                }
+            }
+        }
+    }
+
+    /** Mirror of {@link #forward} for late dates, upstream of {@code seed}. */
+    private void backward(Node seed) {
+        PriorityQueue<Node> q = new PriorityQueue<>(BY_ORD.reversed());
+        q.add(seed);
+        seed.seen = true;
+        while (!q.isEmpty()) {
+            Node n = q.poll();
+            n.seen = false;
+            long tail = tail(n);
+            boolean moved = tail != n.tail;
+            n.tail = tail;
+            if (!moved && n != seed) continue;
+            for (Link l : n.in) {
+                if (!l.from.seen) {
+                    l.from.seen = true;
+                    q.add(l.from);
+                }
+            }
+        }
+    }
+
+    /** Full forward and backward pass, nodes already in topological order. */
+    private void recomputeAll() {
+        List<Node> order = new ArrayList<>(nodes.values());
+        order.sort(BY_ORD);
+        finishes.clear();
+        for (Node n : order) {
+            n.es = earlyStart(n);
+            addFinish(n.es + n.dur);
+        }
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Node n = order.get(i);
+            n.tail = tail(n);
+        }
+    }
+
+    /* ─── topological order ──────────────────────────────────── */
+
+    /**
+     * Pearce–Kelly repair before adding {@code u → v} with
+     * {@code ord(u) > ord(v)}: the nodes reachable from {@code v} up to
+     * {@code ord(u)} and those reaching {@code u} down to {@code ord(v)} swap
+     * their positions; nothing outside that window moves.
+     */
+    private void reorder(Node u, Node v) {
+        int lo = v.ord, hi = u.ord;
+        List<Node> fwd = new ArrayList<>();
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(v);
+        v.seen = true;
+        while (!stack.isEmpty()) {
+            Node n = stack.pop();
+            fwd.add(n);
+            for (Link l : n.out) {
+                Node w = l.to;
+                if (w == u) {
+                    for (Node f : fwd) f.seen = false;
+                    for (Node f : stack) f.seen = false;
+                    throw new IllegalArgumentException("Dependency would create a cycle");
+                }
+                if (!w.seen && w.ord < hi) {
+                    w.seen = true;
+                    stack.push(w);
+                }
+            }
+        }
+        List<Node> back = new ArrayList<>();
+        stack.push(u);
+        u.seen = true;
+        while (!stack.isEmpty()) {
+            Node n = stack.pop();
+            back.add(n);
+            for (Link l : n.in) {
+                Node w = l.from;
+                if (!w.seen && w.ord > lo) {
+                    w.seen = true;
+                    stack.push(w);
+                }
+            }
+        }
+        for (Node n : fwd) n.seen = false;
+        for (Node n : back) n.seen = false;
+
+        back.sort(BY_ORD);
+        fwd.sort(BY_ORD);
+        int[] slots = new int[back.size() + fwd.size()];
+        int k = 0;
+        for (Node n : back) slots[k++] = n.ord;
+        for (Node n : fwd) slots[k++] = n.ord;
+        Arrays.sort(slots);
+        k = 0;
+        for (Node n : back) n.ord = slots[k++];
+        for (Node n : fwd) n.ord = slots[k++];
+    }
+
+    /** Kahn's algorithm over the whole graph; false if it has a cycle. */
+    private boolean sortAll() {
+        Map<Node, int[]> indegree = new IdentityHashMap<>(nodes.size() * 2);
+        ArrayDeque<Node> ready = new ArrayDeque<>();
+        for (Node n : nodes.values()) {
+            if (n.in.isEmpty()) ready.add(n);
+            else indegree.put(n, new int[]{n.in.size()});
+        }
+        List<Node> order = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            Node n = ready.poll();
+            order.add(n);
+            for (Link l : n.out) {
+                if (--indegree.get(l.to)[0] == 0) ready.add(l.to);
+            }
+        }
+        if (order.size() < nodes.size()) return false;
+        for (int i = 0; i < order.size(); i++) order.get(i).ord = i;
+        nextOrd = order.size();
+        return true;
+    }
+
+    /* ─── internals ──────────────────────────────────────────── */
+
+    private Node node(GanttTask t) {
+        Node n = nodes.get(t);
+        if (n == null) throw new IllegalArgumentException("Task is not scheduled: " + t.getTitle());
+        return n;
+    }
+
+    private static boolean hasLink(Node u, Dependency d) {
+        for (Link l : u.out) {
+            if (l.dep.equals(d)) return true;
+        }
+        return false;
+    }
+
+    private Link link(Dependency d, Node u, Node v) {
+        Link l = new Link(d, u, v);
+        u.out.add(l);
+        v.in.add(l);
+        linkCount++;
+        return l;
+    }
+
+    private void unlink(Link l) {
+        l.from.out.remove(l);
+        l.to.in.remove(l);
+        linkCount--;
+    }
+
+    private void addFinish(long ms) {
+        int[] c = finishes.get(ms);
+        if (c == null) finishes.put(ms, new int[]{1});
+        else c[0]++;
+    }
+
+    private void removeFinish(long ms) {
+        int[] c = finishes.get(ms);
+        if (c != null && --c[0] == 0) finishes.remove(ms);
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.ganttchartview.core.schedule;
+
+import androidx.annotation.MainThread;
+
+import com.example.ganttchartview.core.layout.TrackPacker;
+import com.example.ganttchartview.model.GanttTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * How many tasks each swimlane ({@link TrackPacker#groupKey}, i.e. each
+ * assignee) runs at the same time, and where that exceeds its capacity.
+ * <p>
+ * Every swimlane keeps its task boundaries as a sorted map of +1 / −1
+ * deltas, updated in O(log n) per edit.  Its {@link Profile} – the step
+ * function of concurrency – comes from one sweep over that map and is
+ * cached until the swimlane changes again, so an edit never rescans other
+ * swimlanes.  Intervals are half-open: a task ending when the next starts
+ * does not overlap it.
+ * <p>
+ * Swimlane and dates are read when a task is indexed; call {@link #update}
+ * after changing them.
+ */
+@MainThread
+public final class ResourceLoadEngine {
+
+    /** Concurrency of one swimlane over time: {@code count(i)} holds on {@code [start(i), end(i))}. */
+    public static final class Profile {
+        static final Profile EMPTY = new Profile(new long[0], new int[0], 0);
+
+        private final long[] at;        // step starts; the last step ends at at[size]
+        private final int[] count;
+        private final int peak;
+
+        Profile(long[] at, int[] count, int peak) {
+            this.at = at;
+            this.count = count;
+            this.peak = peak;
+        }
+
+        /** Number of steps, from the first task start to the last task end; idle gaps are steps with count 0. */
+        public int size() {
+            return count.length;
+        }
+
+        public long getStartMs(int i) {
+            return at[i];
+        }
+
+        public long getEndMs(int i) {
+            return at[i + 1];
+        }
+
+        public int getCount(int i) {
+            return count[i];
+        }
+
+        public int getPeak() {
+            return peak;
+        }
+
+        /** Tasks running at {@code ms}. */
+        public int countAt(long ms) {
+            int i = indexAt(ms);
+            return i >= 0 ? count[i] : 0;
+        }
+
+        /** First step ending after {@code ms}; {@link #size()} when none does. */
+        public int firstEndingAfter(long ms) {
+            int lo = 1, hi = count.length + 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (at[mid] > ms) hi = mid;
+                else lo = mid + 1;
+            }
+            return lo - 1;
+        }
+
+        /** Index of the step containing {@code ms}, or -1 for an idle instant. */
+        public int indexAt(long ms) {
+            int n = count.length;
+            if (n == 0 || ms < at[0] || ms >= at[n]) return -1;
+            int i = Arrays.binarySearch(at, 0, n, ms);
+            return i >= 0 ? i : -i - 2;
+        }
+    }
+
+    /** Interval where a swimlane runs more tasks than its capacity. */
+    public static final class Overload {
+        public final String key;
+        public final long startMs;
+        public final long endMs;
+        /** Highest number of concurrent tasks inside the interval. */
+        public final int peak;
+
+        Overload(String key, long startMs, long endMs, int peak) {
+            this.key = key;
+            this.startMs = startMs;
+            this.endMs = endMs;
+            this.peak = peak;
+        }
+    }
+
+    private static final class Lane {
+        final String key;
+        final TreeMap<Long, int[]> deltas = new TreeMap<>();
+        int tasks;
+        Profile profile;            // null once stale
+
+        Lane(String key) {
+            this.key = key;
+        }
+    }
+
+    /** Where a task was indexed, so it can be taken out again after an edit. */
+    private static final class Entry {
+        final Lane lane;
+        final long start;
+        final long end;
+
+        Entry(Lane lane, long start, long end) {
+            this.lane = lane;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private final Map<String, Lane> lanes = new HashMap<>();
+    private final Map<GanttTask, Entry> entries = new IdentityHashMap<>();
+    private final Set<Lane> stale = new HashSet<>();           // profile not yet re-swept
+    private final Set<String> overloaded = new LinkedHashSet<>();
+    private int capacity = 1;
+
+    /* ─── indexing ───────────────────────────────────────────── */
+
+    public void clear() {
+        lanes.clear();
+        entries.clear();
+        stale.clear();
+        overloaded.clear();
+    }
+
+    public void rebuild(Collection<GanttTask> tasks) {
+        clear();
+        for (GanttTask t : tasks) add(t);
+    }
+
+    public void add(GanttTask t) {
+        if (entries.containsKey(t)) return;
+        String key = TrackPacker.groupKey(t);
+        Lane lane = lanes.get(key);
+        if (lane == null) lanes.put(key, lane = new Lane(key));
+        Entry e = new Entry(lane, t.getStartMs(), t.getEndMs());
+        entries.put(t, e);
+        lane.tasks++;
+        if (e.end > e.start) {
+            shift(lane, e.start, 1);
+            shift(lane, e.end, -1);
+        }
+        markStale(lane);
+    }
+
+    public void remove(GanttTask t) {
+        Entry e = entries.remove(t);
+        if (e == null) return;
+        Lane lane = e.lane;
+        if (e.end > e.start) {
+            shift(lane, e.start, -1);
+            shift(lane, e.end, 1);
+        }
+        if (--lane.tasks == 0) {
+            lanes.remove(lane.key);
+            stale.remove(lane);
+            overloaded.remove(lane.key);
+        } else {
+            markStale(lane);
+        }
+    }
+
+    /** Re-reads {@code t}'s swimlane and dates. */
+    public void update(GanttTask t) {
+        Entry e = entries.get(t);
+        if (e == null) return;
+        if (e.start == t.getStartMs() && e.end == t.getEndMs() && e.lane.key.equals(TrackPacker.groupKey(t))) return;
+        remove(t);
+        add(t);
+    }
+
+    /* ─── queries ────────────────────────────────────────────── */
+
+    /** Concurrent tasks a swimlane may run before it counts as overloaded (default 1). */
+    public void setCapacity(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        if (capacity == this.capacity) return;
+        this.capacity = capacity;
+        stale.addAll(lanes.values());                  // membership of the overloaded set changes
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Concurrency profile of swimlane {@code key} (empty if it has no tasks). */
+    public Profile profile(String key) {
+        Lane lane = lanes.get(key);
+        return lane != null ? sweep(lane) : Profile.EMPTY;
+    }
+
+    /** Maximal intervals where swimlane {@code key} exceeds the capacity, in time order. */
+    public List<Overload> overloads(String key) {
+        Profile p = profile(key);
+        if (p.peak <= capacity) return Collections.emptyList();
+        List<Overload> out = new ArrayList<>();
+        int n = p.size();
+        for (int i = 0; i < n; i++) {
+            if (p.count[i] <= capacity) continue;
+            int j = i, peak = 0;
+            while (j < n && p.count[j] > capacity) {          // steps are contiguous
+                peak = Math.max(peak, p.count[j]);
+                j++;
+            }
+            out.add(new Overload(key, p.at[i], p.at[j], peak));
+            i = j - 1;
+        }
+        return out;
+    }
+
+    /** Swimlanes exceeding the capacity somewhere; only lanes edited since the last call are re-swept. */
+    public Set<String> overloadedKeys() {
+        for (Lane lane : new ArrayList<>(stale)) sweep(lane);
+        return Collections.unmodifiableSet(new LinkedHashSet<>(overloaded));
+    }
+
+    public boolean isOverloaded(String key) {
+        return profile(key).peak > capacity;
+    }
+
+    /* ─── internals ──────────────────────────────────────────── */
+
+    private void markStale(Lane lane) {
+        lane.profile = null;
+        stale.add(lane);
+    }
+
+    private static void shift(Lane lane, long at, int delta) {
+        int[] d = lane.deltas.get(at);
+        if (d == null) {
+            lane.deltas.put(at, new int[]{delta});
+        } else if ((d[0] += delta) == 0) {
+            lane.deltas.remove(at);
+        }
+    }
+
+    /** Cached profile of {@code lane}, re-swept from its deltas when stale. */
+    private Profile sweep(Lane lane) {
+        Profile p = lane.profile;
+        if (p == null) {
+            int n = lane.deltas.size();
+            long[] at = new long[n];
+            int[] count = new int[n];
+            int steps = 0, running = 0, peak = 0;
+            for (Map.Entry<Long, int[]> d : lane.deltas.entrySet()) {
+                running += d.getValue()[0];
+                if (steps > 0 && count[steps - 1] == running) continue;     // no visible change
+                at[steps] = d.getKey();
+                count[steps++] = running;
+                peak = Math.max(peak, running);
+            }
+            // the final step always drops to 0; keep its start as the end of the last busy step
+            int busy = steps > 0 ? steps - 1 : 0;
+            lane.profile = p = new Profile(Arrays.copyOf(at, steps), Arrays.copyOf(count, busy), peak);
+        }
+        if (stale.remove(lane)) {
+            if (p.peak > capacity) overloaded.add(lane.key);
+            else overloaded.remove(lane.key);
+        }
+        return p;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.ganttchartview.listener;
+
+import com.example.ganttchartview.model.GanttMetrics;
+
+public interface OnRenderMetricsListener {
+    /** Called on the main thread after every redraw. */
+    void onRenderMetrics(GanttMetrics metrics);
+
+}
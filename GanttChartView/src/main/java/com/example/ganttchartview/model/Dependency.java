@@ -0,0 +1,72 @@
+package com.example.ganttchartview.model;
+
+import java.util.Objects;
+
+/**
+ * Scheduling link between two tasks: {@code successor} may not start (or
+ * finish) before {@code predecessor} finishes (or starts), plus an optional
+ * lag.  Links compare by value – same tasks, type and lag.
+ */
+public final class Dependency {
+
+    public enum Type {
+        /** Successor starts after the predecessor finishes (the usual link). */
+        FINISH_TO_START,
+        /** Successor starts after the predecessor starts. */
+        START_TO_START,
+        /** Successor finishes after the predecessor finishes. */
+        FINISH_TO_FINISH,
+        /** Successor finishes after the predecessor starts. */
+        START_TO_FINISH
+    }
+
+    private final GanttTask predecessor;
+    private final GanttTask successor;
+    private final Type type;
+    private final long lagMs;
+
+    /** Finish-to-start link without lag. */
+    public Dependency(GanttTask predecessor, GanttTask successor) {
+        this(predecessor, successor, Type.FINISH_TO_START, 0);
+    }
+
+    /**
+     * @param lagMs extra delay between the two ends; negative for a lead
+     */
+    public Dependency(GanttTask predecessor, GanttTask successor, Type type, long lagMs) {
+        this.predecessor = Objects.requireNonNull(predecessor);
+        this.successor = Objects.requireNonNull(successor);
+        this.type = Objects.requireNonNull(type);
+        if (predecessor == successor) throw new IllegalArgumentException("A task cannot depend on itself");
+        this.lagMs = lagMs;
+    }
+
+    public GanttTask getPredecessor() {
+        return predecessor;
+    }
+
+    public GanttTask getSuccessor() {
+        return successor;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Dependency)) return false;
+        Dependency d = (Dependency) o;
+        return predecessor == d.predecessor && successor == d.successor && type == d.type && lagMs == d.lagMs;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(predecessor), System.identityHashCode(successor), type, lagMs);
+    }
+}
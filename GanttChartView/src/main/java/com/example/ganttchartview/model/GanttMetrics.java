@@ -0,0 +1,116 @@
+package com.example.ganttchartview.model;
+
+import java.util.Locale;
+
+/**
+ * Cost breakdown of one chart redraw.  Times are wall-clock nanoseconds;
+ * phases that did not run in this redraw (e.g. the header when only the
+ * filter changed) report 0.
+ * <p>
+ * The same phases are emitted as {@code android.os.Trace} sections named by
+ * the {@code TRACE_*} constants, so they line up with system traces.
+ */
+public final class GanttMetrics {
+
+    public static final String TRACE_GROUP = "Gantt:group";
+    public static final String TRACE_PACK = "Gantt:pack";
+    public static final String TRACE_OFFSET_AND_SPAN = "Gantt:offsetAndSpan";
+    public static final String TRACE_HEADER = "Gantt:buildHeader";
+    public static final String TRACE_ROWS = "Gantt:buildRows";
+    public static final String TRACE_DRAW = "Gantt:draw";
+
+    public static final GanttMetrics EMPTY = new GanttMetrics(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    private final long groupNanos;
+    private final long packNanos;
+    private final long offsetAndSpanNanos;
+    private final long headerNanos;
+    private final long rowsNanos;
+    private final int viewsCreated;
+    private final int tasksCulled;
+    private final int taskCount;
+    private final int rowCount;
+    private final int datedColumnsCut;
+
+    public GanttMetrics(long groupNanos, long packNanos, long offsetAndSpanNanos,
+                        long headerNanos, long rowsNanos,
+                        int viewsCreated, int tasksCulled, int taskCount, int rowCount,
+                        int datedColumnsCut) {
+        this.groupNanos = groupNanos;
+        this.packNanos = packNanos;
+        this.offsetAndSpanNanos = offsetAndSpanNanos;
+        this.headerNanos = headerNanos;
+        this.rowsNanos = rowsNanos;
+        this.viewsCreated = viewsCreated;
+        this.tasksCulled = tasksCulled;
+        this.taskCount = taskCount;
+        this.rowCount = rowCount;
+        this.datedColumnsCut = datedColumnsCut;
+    }
+
+    /** Filtering the swimlanes into the groups laid out. */
+    public long getGroupNanos() {
+        return groupNanos;
+    }
+
+    /** Sorting and track assignment ({@code TrackPacker.pack}). */
+    public long getPackNanos() {
+        return packNanos;
+    }
+
+    /** Mapping tasks onto the time axis ({@code offsetAndSpan}). */
+    public long getOffsetAndSpanNanos() {
+        return offsetAndSpanNanos;
+    }
+
+    /** Rebuilding the column header. */
+    public long getHeaderNanos() {
+        return headerNanos;
+    }
+
+    /** Handing the layout to the renderer, including binding visible row Views. */
+    public long getRowsNanos() {
+        return rowsNanos;
+    }
+
+    /** Sum of all measured phases. */
+    public long getTotalNanos() {
+        return groupNanos + packNanos + offsetAndSpanNanos + headerNanos + rowsNanos;
+    }
+
+    /** Views allocated (header cells, rows, blocks not served from the pool). */
+    public int getViewsCreated() {
+        return viewsCreated;
+    }
+
+    /** Visible tasks dropped because they fall outside the time axis. */
+    public int getTasksCulled() {
+        return tasksCulled;
+    }
+
+    /** Tasks that passed the filter. */
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Calendar-axis columns past the chart's {@code setMaxDatedColumns} cap;
+     * tasks there are among {@link #getTasksCulled()}.  0 on other axes.
+     */
+    public int getDatedColumnsCut() {
+        return datedColumnsCut;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "GanttMetrics{group=%.2fms, pack=%.2fms, offsetAndSpan=%.2fms, header=%.2fms, rowsBuild=%.2fms, "
+                        + "views=%d, culled=%d, tasks=%d, rowCount=%d, datedColumnsCut=%d}",
+                groupNanos / 1e6, packNanos / 1e6, offsetAndSpanNanos / 1e6, headerNanos / 1e6,
+                rowsNanos / 1e6, viewsCreated, tasksCulled, taskCount, rowCount, datedColumnsCut);
+    }
+}
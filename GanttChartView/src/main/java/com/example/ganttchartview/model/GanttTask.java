@@ -1,86 +1,176 @@
 package com.example.ganttchartview.model;
 
 import java.util.Date;
-
+import java.util.Objects;
+
+/**
+ * One task.  While it is not part of a chart the task holds its own values;
+ * once added, they move into the chart's {@link TaskStore} and this object
+ * becomes a small handle reading and writing the store's columns.  The API
+ * is the same either way.
+ * <p>
+ * Dates are stored as epoch millis, which changes two things compared with
+ * earlier versions that kept the caller's {@code Date} objects:
+ * <ul>
+ *   <li>{@link #getStart()} / {@link #getEnd()} return a new {@code Date} on
+ *       every call, so mutating it no longer moves the task – change a task
+ *       through its setters, and prefer {@link #getStartMs()} /
+ *       {@link #getEndMs()} in loops;</li>
+ *   <li>start and end may not be {@code null}: the constructor and
+ *       {@link #setStart} / {@link #setEnd} throw
+ *       {@link NullPointerException} right away instead of failing later
+ *       in layout.</li>
+ * </ul>
+ */
 public class GanttTask {
-    private String title;
-    private Date start;
-    private Date end;
-    private int color;
-    private String info; // NEW
-    private String assignedTo;
 
+    /** Own values of a task that is not in a store. */
+    static final class Values {
+        String title;
+        long start;
+        long end;
+        int color;
+        String info;
+        String assignedTo;
+    }
+
+    /** Own {@link Values} while detached, else the {@link TaskStore} holding them. */
+    private volatile Object data;
+    int slot;                   // written by TaskStore only, before data is published
+
+    /** @throws NullPointerException if {@code start} or {@code end} is null */
     public GanttTask(String title, Date start, Date end, int color, String info, String assignedTo) {
-        this.title = title;
-        this.start = start;
-        this.end = end;
-        this.color = color;
-        this.info = info;
-        this.assignedTo = assignedTo;
+        Values v = new Values();
+        v.title = title;
+        v.start = Objects.requireNonNull(start, "start").getTime();
+        v.end = Objects.requireNonNull(end, "end").getTime();
+        v.color = color;
+        v.info = info;
+        v.assignedTo = assignedTo;
+        data = v;
+    }
+
+    /* ─── store binding ──────────────────────────────────────── */
+
+    /** Store currently holding the values, or {@code null}. */
+    TaskStore store() {
+        Object d = data;
+        return d instanceof TaskStore ? (TaskStore) d : null;
+    }
+
+    /** Own values, for the store to copy before {@link #bind}; null while bound. */
+    Values ownValues() {
+        Object d = data;
+        return d instanceof Values ? (Values) d : null;
     }
 
+    /** Switches to reading {@code s} at {@code slot}, which already holds the values. */
+    void bind(TaskStore s, int slot) {
+        this.slot = slot;
+        data = s;
+    }
+
+    /** Takes the values back from the store; the slot is left intact for concurrent readers. */
+    void unbind(Values v) {
+        data = v;
+    }
+
+    /* ─── accessors ──────────────────────────────────────────── */
+
     public String getTitle() {
-        return title;
+        Object d = data;
+        return d instanceof TaskStore ? ((TaskStore) d).title(slot) : ((Values) d).title;
     }
 
     public Date getStart() {
-        return start;
+        return new Date(getStartMs());
     }
 
     public Date getEnd() {
-        return end;
+        return new Date(getEndMs());
+    }
+
+    /** Start as epoch millis – no allocation. */
+    public long getStartMs() {
+        Object d = data;
+        return d instanceof TaskStore ? ((TaskStore) d).start(slot) : ((Values) d).start;
+    }
+
+    /** End as epoch millis – no allocation. */
+    public long getEndMs() {
+        Object d = data;
+        return d instanceof TaskStore ? ((TaskStore) d).end(slot) : ((Values) d).end;
     }
 
     public int getColor() {
-        return color;
+        Object d = data;
+        return d instanceof TaskStore ? ((TaskStore) d).color(slot) : ((Values) d).color;
     }
 
     public String getInfo() {
-        return info;
+        Object d = data;
+        return d instanceof TaskStore ? ((TaskStore) d).info(slot) : ((Values) d).info;
     }
 
     public void setAssignedTo(String assignedTo) {
         if (assignedTo == null || assignedTo.isEmpty()) {
             return; // Invalid assignedTo
         }
-        this.assignedTo = assignedTo;
+        Object d = data;
+        if (d instanceof TaskStore) ((TaskStore) d).setAssignedTo(slot, assignedTo);
+        else ((Values) d).assignedTo = assignedTo;
     }
 
     public void setInfo(String info) {
         if (info == null || info.isEmpty()) {
             return; // Invalid info
         }
-        this.info = info;
+        Object d = data;
+        if (d instanceof TaskStore) ((TaskStore) d).setInfo(slot, info);
+        else ((Values) d).info = info;
     }
 
     public String getAssignedTo() {
-        return assignedTo;
+        Object d = data;
+        return d instanceof TaskStore ? ((TaskStore) d).assignedTo(slot) : ((Values) d).assignedTo;
     }
 
     public void setTitle(String title) {
         if (title == null || title.isEmpty()) {
             return; // Invalid title
         }
-        this.title = title;
+        Object d = data;
+        if (d instanceof TaskStore) ((TaskStore) d).setTitle(slot, title);
+        else ((Values) d).title = title;
     }
 
+    /** @throws NullPointerException if {@code start} is null */
     public void setStart(Date start) {
-        this.start = start;
+        long ms = Objects.requireNonNull(start, "start").getTime();
+        Object d = data;
+        if (d instanceof TaskStore) ((TaskStore) d).setStart(slot, ms);
+        else ((Values) d).start = ms;
     }
 
+    /** @throws NullPointerException if {@code end} is null */
     public void setEnd(Date end) {
-        this.end = end;
+        long ms = Objects.requireNonNull(end, "end").getTime();
+        Object d = data;
+        if (d instanceof TaskStore) ((TaskStore) d).setEnd(slot, ms);
+        else ((Values) d).end = ms;
     }
 
     public void setColor(int color) {
-        this.color = color;
+        Object d = data;
+        if (d instanceof TaskStore) ((TaskStore) d).setColor(slot, color);
+        else ((Values) d).color = color;
     }
 
     public String getFormattedStart() {
-        return String.format("%1$tH:%1$tM", start);
+        return String.format("%1$tH:%1$tM", getStartMs());
     }
 
     public String getFormattedEnd() {
-        return String.format("%1$tH:%1$tM", end);
+        return String.format("%1$tH:%1$tM", getEndMs());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.example.ganttchartview.model;
+
+/** How the chart body (grid + task blocks) is put on screen */
+public enum RenderMode {
+    /** gridlines, stripes, labels and blocks drawn in a single onDraw – scales to large plans */
+    CANVAS(0, "canvas"),
+    /** one View per row / cell / block – the original path, kept for custom styling */
+    VIEWS(1, "views");
+
+    public final int attrIndex;   // keeps enum ↔︎ XML attribute in sync
+    public final String xmlName;  // string that appears in attrs.xml
+
+    RenderMode(int idx, String xmlName) {
+        this.attrIndex = idx;
+        this.xmlName   = xmlName;
+    }
+
+    /** Convert the <enum> value read from attrs.xml into the enum */
+    public static RenderMode fromAttrIndex(int idx) {
+        for (RenderMode m : values())
+            if (m.attrIndex == idx) return m;
+        throw new IllegalArgumentException("Unknown render mode index: " + idx);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.ganttchartview.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Slots of one {@link TaskStore} index key.  Kept as a sorted {@code int[]}
+ * while that is smaller than a bitmap reaching the highest slot, and as a
+ * {@link BitSet} once it is not – the array and bitmap containers of a
+ * roaring bitmap, without its 64K chunking.  An assignee with a handful of
+ * tasks scattered over a large store then costs a few ints rather than a
+ * bitmap as long as the store.
+ */
+final class SlotSet {
+
+    private static final int MIN_DENSE = 64;        // below this many slots an array is always fine
+
+    private int[] sorted = new int[4];              // array form; null while dense
+    private BitSet bits;                            // bitmap form; null while sparse
+    private int size;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int cardinality() {
+        return size;
+    }
+
+    void add(int slot) {
+        if (bits != null) {
+            if (!bits.get(slot)) {
+                bits.set(slot);
+                size++;
+            }
+            return;
+        }
+        int i = size == 0 || sorted[size - 1] < slot ? -size - 1 : Arrays.binarySearch(sorted, 0, size, slot);
+        if (i >= 0) return;
+        i = -i - 1;
+        if (size == sorted.length) sorted = Arrays.copyOf(sorted, size * 2);
+        System.arraycopy(sorted, i, sorted, i + 1, size - i);
+        sorted[i] = slot;
+        size++;
+        if (size >= MIN_DENSE && size * 32L > sorted[size - 1]) toBits();
+    }
+
+    void remove(int slot) {
+        if (bits != null) {
+            if (!bits.get(slot)) return;
+            bits.clear(slot);
+            size--;
+            if (size * 64L < bits.length()) toArray();       // well below the switch point, so no flapping
+            return;
+        }
+        int i = Arrays.binarySearch(sorted, 0, size, slot);
+        if (i < 0) return;
+        System.arraycopy(sorted, i + 1, sorted, i, size - i - 1);
+        size--;
+    }
+
+    /** Next member at or after {@code from}, or -1. */
+    int next(int from) {
+        if (bits != null) return bits.nextSetBit(from);
+        int i = Arrays.binarySearch(sorted, 0, size, from);
+        if (i < 0) i = -i - 1;
+        return i < size ? sorted[i] : -1;
+    }
+
+    /** Adds every member to {@code out}. */
+    void orInto(BitSet out) {
+        if (bits != null) out.or(bits);
+        else for (int i = 0; i < size; i++) out.set(sorted[i]);
+    }
+
+    BitSet toBitSet() {
+        if (bits != null) return (BitSet) bits.clone();
+        BitSet out = new BitSet(size == 0 ? 0 : sorted[size - 1] + 1);
+        orInto(out);
+        return out;
+    }
+
+    private void toBits() {
+        bits = new BitSet(sorted[size - 1] + 1);
+        for (int i = 0; i < size; i++) bits.set(sorted[i]);
+        sorted = null;
+    }
+
+    private void toArray() {
+        sorted = new int[Math.max(4, size)];
+        int k = 0;
+        for (int s = bits.nextSetBit(0); s >= 0; s = bits.nextSetBit(s + 1)) sorted[k++] = s;
+        bits = null;
+    }
+}
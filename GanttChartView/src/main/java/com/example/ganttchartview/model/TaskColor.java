@@ -1,7 +1,5 @@
 package com.example.ganttchartview.model;
 
-import android.graphics.Color;
-
 /**
  * Centralised colour palette so blocks & dialogs stay consistent.
  * Feel free to add or rename entries – only this enum needs changing.
@@ -17,7 +15,7 @@ public enum TaskColor {
 
     public final int argb;
 
-    TaskColor(String hex) { this.argb = Color.parseColor(hex); }
+    TaskColor(String hex) { this.argb = 0xFF000000 | Integer.parseInt(hex.substring(1), 16); }   // #RRGGBB
 
     /** Simple round-robin helper if caller wants “next nice colour”. */
     private static int cursor;
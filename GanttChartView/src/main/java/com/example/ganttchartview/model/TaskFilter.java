@@ -0,0 +1,171 @@
+package com.example.ganttchartview.model;
+
+import java.util.BitSet;
+import java.util.Date;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Structured, composable task filter.  Unlike an opaque {@link Predicate},
+ * every criterion can be answered from an index, so a chart resolves the
+ * whole expression into a bitmap of matching tasks without visiting each
+ * one.  {@link #matching} wraps an arbitrary predicate as a fallback.
+ * <pre>
+ * TaskFilter.assignee("Alice").or(TaskFilter.assignee("Bob"))
+ *         .and(TaskFilter.minDuration(2 * 3_600_000L))
+ *         .and(TaskFilter.color(Color.RED).not());
+ * </pre>
+ * Filters are immutable.
+ */
+public abstract class TaskFilter {
+
+    /** Answers single criteria as bitmaps over the same task numbering. */
+    public interface Resolver {
+        BitSet all();
+        BitSet assignee(String name);
+        BitSet color(int argb);
+        /** Tasks starting after {@code fromMs} and ending before {@code toMs}. */
+        BitSet within(long fromMs, long toMs);
+        BitSet minDuration(long ms);
+        BitSet matching(Predicate<GanttTask> p);
+    }
+
+    private TaskFilter() {}
+
+    /** Evaluates this filter for one task. */
+    public abstract boolean test(GanttTask t);
+
+    /** Resolves this filter into a fresh bitmap, criterion by criterion. */
+    public abstract BitSet resolve(Resolver r);
+
+    /* ─── criteria ───────────────────────────────────────────── */
+
+    public static TaskFilter all() {
+        return ALL;
+    }
+
+    /** Tasks assigned to {@code name}. */
+    public static TaskFilter assignee(String name) {
+        Objects.requireNonNull(name);
+        return new TaskFilter() {
+            @Override public boolean test(GanttTask t) {
+                return name.equals(t.getAssignedTo());
+            }
+
+            @Override public BitSet resolve(Resolver r) {
+                return r.assignee(name);
+            }
+        };
+    }
+
+    /** Tasks drawn in {@code argb}. */
+    public static TaskFilter color(int argb) {
+        return new TaskFilter() {
+            @Override public boolean test(GanttTask t) {
+                return t.getColor() == argb;
+            }
+
+            @Override public BitSet resolve(Resolver r) {
+                return r.color(argb);
+            }
+        };
+    }
+
+    /** Tasks starting after {@code from} and ending before {@code to}. */
+    public static TaskFilter within(Date from, Date to) {
+        long f = from.getTime(), e = to.getTime();
+        return new TaskFilter() {
+            @Override public boolean test(GanttTask t) {
+                return t.getStartMs() > f && t.getEndMs() < e;
+            }
+
+            @Override public BitSet resolve(Resolver r) {
+                return r.within(f, e);
+            }
+        };
+    }
+
+    /** Tasks lasting at least {@code ms} milliseconds. */
+    public static TaskFilter minDuration(long ms) {
+        return new TaskFilter() {
+            @Override public boolean test(GanttTask t) {
+                return t.getEndMs() - t.getStartMs() >= ms;
+            }
+
+            @Override public BitSet resolve(Resolver r) {
+                return r.minDuration(ms);
+            }
+        };
+    }
+
+    /** Fallback for criteria no index covers – evaluated task by task. */
+    public static TaskFilter matching(Predicate<GanttTask> p) {
+        Objects.requireNonNull(p);
+        return new TaskFilter() {
+            @Override public boolean test(GanttTask t) {
+                return p.test(t);
+            }
+
+            @Override public BitSet resolve(Resolver r) {
+                return r.matching(p);
+            }
+        };
+    }
+
+    /* ─── combinators ────────────────────────────────────────── */
+
+    public TaskFilter and(TaskFilter o) {
+        TaskFilter a = this;
+        return new TaskFilter() {
+            @Override public boolean test(GanttTask t) {
+                return a.test(t) && o.test(t);
+            }
+
+            @Override public BitSet resolve(Resolver r) {
+                BitSet b = a.resolve(r);
+                if (!b.isEmpty()) b.and(o.resolve(r));
+                return b;
+            }
+        };
+    }
+
+    public TaskFilter or(TaskFilter o) {
+        TaskFilter a = this;
+        return new TaskFilter() {
+            @Override public boolean test(GanttTask t) {
+                return a.test(t) || o.test(t);
+            }
+
+            @Override public BitSet resolve(Resolver r) {
+                BitSet b = a.resolve(r);
+                b.or(o.resolve(r));
+                return b;
+            }
+        };
+    }
+
+    public TaskFilter not() {
+        TaskFilter a = this;
+        return new TaskFilter() {
+            @Override public boolean test(GanttTask t) {
+                return !a.test(t);
+            }
+
+            @Override public BitSet resolve(Resolver r) {
+                BitSet b = r.all();
+                b.andNot(a.resolve(r));
+                return b;
+            }
+        };
+    }
+
+    private static final TaskFilter ALL = new TaskFilter() {
+        @Override public boolean test(GanttTask t) {
+            return true;
+        }
+
+        @Override public BitSet resolve(Resolver r) {
+            return r.all();
+        }
+    };
+}
@@ -0,0 +1,498 @@
+package com.example.ganttchartview.model;
+
+import androidx.annotation.MainThread;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-wise storage of a chart's tasks: one primitive array per field
+ * ({@code long[] start / end}, {@code int[] color}, interned assignee ids)
+ * instead of an object graph per task.  Each {@link GanttTask} added here
+ * becomes a handle onto its slot, so a task costs a few array cells plus a
+ * small handle, and scans walk contiguous arrays.  {@code Date}s are only
+ * created when someone asks for one.  Titles, notes and assignees are kept
+ * as the caller's {@code String}s ({@code String[]} columns, assignees
+ * interned to ids) rather than decoded lazily from bytes – they arrive as
+ * objects, and decoding on read would allocate on every draw.
+ * <p>
+ * Slots are stable: removing a task just empties its slot, and new tasks
+ * are appended.  Only {@link #compact()} moves data.  Background readers
+ * hold {@link #readerLock()} for a whole pass, and compaction runs only
+ * when it can take the write side without waiting, so a pass never sees
+ * a half-moved store.  The lock is shared by every store, which also
+ * covers a handle that one chart lists while another holds its values.
+ * <p>
+ * A task lives in one store at a time; adding it to a second chart moves
+ * its values there (the first chart keeps reading it through the handle).
+ * The list order ({@link #asList()}) normally follows slot order, so
+ * {@link #indexOf} and {@link #remove} find a task by binary search on its
+ * slot; after an out-of-order insert they scan the list until the next
+ * compaction.
+ * <p>
+ * Slots are also indexed by assignee, colour and duration bucket
+ * (power-of-two ranges), maintained on every write, so filters can be
+ * answered by combining bit sets ({@link #slotsWithAssignee} etc.).  Each
+ * key's slots are a {@link SlotSet} – a sorted array while sparse, a bitmap
+ * once dense – so thousands of small assignees stay cheap; query results
+ * are plain {@link BitSet}s.
+ * {@link #getModCount()} changes with every add, remove, edit and
+ * compaction – results keyed by slot are stale once it moves.
+ * <p>
+ * Every setter call on a handle also marks its slot as edited, so indexes
+ * kept outside the store can catch up with tasks the host changed in place
+ * ({@link #takeEdited()}).
+ */
+@MainThread
+public final class TaskStore {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int NO_NAME = -1;
+
+    /** Read side: background passes.  Write side: {@link #compact()}. */
+    private static final ReentrantReadWriteLock MOVES = new ReentrantReadWriteLock();
+
+    private GanttTask[] handles = new GanttTask[MIN_CAPACITY];
+    private long[] start = new long[MIN_CAPACITY];
+    private long[] end = new long[MIN_CAPACITY];
+    private int[] color = new int[MIN_CAPACITY];
+    private int[] assignee = new int[MIN_CAPACITY];
+    private String[] title = new String[MIN_CAPACITY];
+    private String[] info = new String[MIN_CAPACITY];
+    private int[] listed = new int[MIN_CAPACITY];      // list entries per slot
+    private int slots;          // used slots, including emptied ones
+    private int live;           // slots still bound to a task
+
+    private String[] names = new String[MIN_CAPACITY];
+    private int nameCount;
+    private final Map<String, Integer> nameIds = new HashMap<>();
+
+    private final BitSet liveSlots = new BitSet();
+    private final ArrayList<SlotSet> byAssignee = new ArrayList<>();    // by name id
+    private final Map<Integer, SlotSet> byColor = new HashMap<>();
+    private final SlotSet[] byDuration = new SlotSet[64];               // by durationBucket
+    private final BitSet edited = new BitSet();     // slots set through a handle since takeEdited()
+    private int modCount;
+
+    private final ArrayList<GanttTask> order = new ArrayList<>();
+    private final List<GanttTask> orderView = Collections.unmodifiableList(order);
+    private boolean slotOrdered = true;     // every listed task is held here once, in ascending slot order
+
+    /**
+     * Lock a background thread holds while it reads tasks of any store;
+     * {@link #compact()} stays out meanwhile.  Main-thread code needs no lock.
+     */
+    public static Lock readerLock() {
+        return MOVES.readLock();
+    }
+
+    /* ─── list API ───────────────────────────────────────────── */
+
+    public int size() {
+        return order.size();
+    }
+
+    public GanttTask get(int index) {
+        return order.get(index);
+    }
+
+    public int indexOf(GanttTask t) {
+        if (!slotOrdered) return order.indexOf(t);
+        if (t.store() != this || listed[t.slot] == 0) return -1;
+        int lo = 0, hi = order.size() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int s = order.get(mid).slot;
+            if (s < t.slot) lo = mid + 1;
+            else if (s > t.slot) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /** Read-only live view of the tasks in list order. */
+    public List<GanttTask> asList() {
+        return orderView;
+    }
+
+    /** Appends {@code t} to the list. */
+    public void add(GanttTask t) {
+        add(order.size(), t);
+    }
+
+    /** Inserts {@code t} at list position {@code index}. */
+    public void add(int index, GanttTask t) {
+        if (t.store() != this) bind(t, index);
+        if (slotOrdered) slotOrdered = fitsAt(index, t.slot);
+        order.add(index, t);
+        listed[t.slot]++;
+        modCount++;
+    }
+
+    public void addAll(Collection<GanttTask> tasks) {
+        order.ensureCapacity(order.size() + tasks.size());
+        ensureCapacity(slots + tasks.size());
+        for (GanttTask t : tasks) add(t);
+    }
+
+    /**
+     * Removes {@code t} from the list; its values move back into the task.
+     * @return the list position it had, or -1 if it was not in the list
+     */
+    public int remove(GanttTask t) {
+        int idx = indexOf(t);
+        if (idx < 0) return -1;
+        order.remove(idx);
+        if (t.store() == this) {
+            int left = --listed[t.slot];
+            if (slotOrdered ? left == 0 : !order.contains(t)) release(t);
+        }
+        modCount++;
+        return idx;
+    }
+
+    /** Removes every task. */
+    public void clear() {
+        for (GanttTask t : order) {
+            if (t.store() == this) listed[t.slot] = 0;
+        }
+        for (GanttTask t : order) {
+            if (t.store() == this) release(t);
+        }
+        order.clear();
+        slotOrdered = true;
+        modCount++;
+    }
+
+    /* ─── slot maintenance ───────────────────────────────────── */
+
+    /** True once more than half of the used slots are empty. */
+    public boolean isSparse() {
+        return slots > MIN_CAPACITY && live < slots / 2;
+    }
+
+    /**
+     * Re-packs the live slots in list order and drops unused interned names.
+     * Moves data under the handles, so it only runs while no thread holds
+     * {@link #readerLock()}.
+     * @return false, changing nothing, if a background reader holds the lock
+     */
+    public boolean compact() {
+        Lock moving = MOVES.writeLock();
+        if (!moving.tryLock()) return false;
+        try {
+            repack();
+        } finally {
+            moving.unlock();
+        }
+        return true;
+    }
+
+    private void repack() {
+        int n = live;
+        GanttTask[] h = new GanttTask[Math.max(n, MIN_CAPACITY)];
+        long[] s = new long[h.length], e = new long[h.length];
+        int[] c = new int[h.length], a = new int[h.length];
+        String[] ti = new String[h.length], in = new String[h.length];
+        int[] l = new int[h.length];
+        BitSet ed = new BitSet();
+
+        String[] oldNames = names;
+        names = new String[Math.max(nameCount, MIN_CAPACITY)];
+        nameCount = 0;
+        nameIds.clear();
+
+        int k = 0;
+        for (GanttTask t : order) {
+            if (t.store() != this) continue;                          // values live in another store
+            if (t.slot < k && h[t.slot] == t) continue;             // listed twice, already moved
+            int from = t.slot;
+            h[k] = t;
+            s[k] = start[from];
+            e[k] = end[from];
+            c[k] = color[from];
+            a[k] = intern(assignee[from] == NO_NAME ? null : oldNames[assignee[from]]);
+            ti[k] = title[from];
+            in[k] = info[from];
+            l[k] = 1;
+            if (edited.get(from)) ed.set(k);
+            t.slot = k++;
+        }
+        handles = h;
+        start = s;
+        end = e;
+        color = c;
+        assignee = a;
+        title = ti;
+        info = in;
+        listed = l;
+        slots = live = k;
+        slotOrdered = k == order.size();        // no shared or repeated entries
+        edited.clear();
+        edited.or(ed);
+
+        liveSlots.clear();
+        byAssignee.clear();
+        byColor.clear();
+        Arrays.fill(byDuration, null);
+        for (int i = 0; i < k; i++) index(i);
+        modCount++;
+    }
+
+    /**
+     * Slots whose start, end, colour, title or assignee were set since the
+     * last call, and forgets them.  Emptied slots may be included.
+     */
+    public BitSet takeEdited() {
+        BitSet out = (BitSet) edited.clone();
+        edited.clear();
+        return out;
+    }
+
+    /* ─── bitmap queries ─────────────────────────────────────── */
+
+    public int getModCount() {
+        return modCount;
+    }
+
+    /** True when every listed task is held here exactly once (none shared with another chart). */
+    public boolean ownsAll() {
+        return live == order.size();
+    }
+
+    /** Slot of {@code t} in this store, or -1 if its values live elsewhere. */
+    public int slotOf(GanttTask t) {
+        return t.store() == this ? t.slot : -1;
+    }
+
+    /** Task bound to {@code slot}, or {@code null} for an emptied slot. */
+    public GanttTask taskAt(int slot) {
+        return liveSlots.get(slot) ? handles[slot] : null;
+    }
+
+    /** Every slot bound to a task (a copy). */
+    public BitSet liveSlots() {
+        return (BitSet) liveSlots.clone();
+    }
+
+    /** Slots of tasks assigned to {@code name} (a copy). */
+    public BitSet slotsWithAssignee(String name) {
+        Integer id = nameIds.get(name);
+        return id != null && id < byAssignee.size() && byAssignee.get(id) != null
+                ? byAssignee.get(id).toBitSet() : new BitSet();
+    }
+
+    /** Slots of tasks drawn in {@code argb} (a copy). */
+    public BitSet slotsWithColor(int argb) {
+        SlotSet b = byColor.get(argb);
+        return b != null ? b.toBitSet() : new BitSet();
+    }
+
+    /**
+     * Slots of tasks lasting at least {@code ms}: every longer duration
+     * bucket wholesale, plus the members of {@code ms}'s own bucket that
+     * pass an exact check.
+     */
+    public BitSet slotsWithMinDuration(long ms) {
+        int b0 = durationBucket(ms);
+        BitSet out = new BitSet();
+        for (int b = b0 + 1; b < byDuration.length; b++) {
+            if (byDuration[b] != null) byDuration[b].orInto(out);
+        }
+        SlotSet edge = byDuration[b0];
+        if (edge != null) {
+            for (int i = edge.next(0); i >= 0; i = edge.next(i + 1)) {
+                if (end[i] - start[i] >= ms) out.set(i);
+            }
+        }
+        return out;
+    }
+
+    /* ─── columns (read by handles, from any thread) ─────────── */
+
+    long start(int slot) {
+        return start[slot];
+    }
+
+    long end(int slot) {
+        return end[slot];
+    }
+
+    int color(int slot) {
+        return color[slot];
+    }
+
+    String title(int slot) {
+        return title[slot];
+    }
+
+    String info(int slot) {
+        return info[slot];
+    }
+
+    String assignedTo(int slot) {
+        int id = assignee[slot];
+        return id == NO_NAME ? null : names[id];
+    }
+
+    /** Interned id of the task's assignee, or -1 when it has none. */
+    int assigneeId(int slot) {
+        return assignee[slot];
+    }
+
+    void setStart(int slot, long ms) {
+        edited.set(slot);
+        unindex(slot);
+        start[slot] = ms;
+        index(slot);
+    }
+
+    void setEnd(int slot, long ms) {
+        edited.set(slot);
+        unindex(slot);
+        end[slot] = ms;
+        index(slot);
+    }
+
+    void setColor(int slot, int argb) {
+        edited.set(slot);
+        unindex(slot);
+        color[slot] = argb;
+        index(slot);
+    }
+
+    void setTitle(int slot, String s) {
+        edited.set(slot);
+        title[slot] = s;
+        modCount++;
+    }
+
+    void setInfo(int slot, String s) {
+        info[slot] = s;
+        modCount++;
+    }
+
+    void setAssignedTo(int slot, String name) {
+        edited.set(slot);
+        unindex(slot);
+        assignee[slot] = intern(name);
+        index(slot);
+    }
+
+    /* ─── internals ──────────────────────────────────────────── */
+
+    /** Binds {@code t}, about to be listed at {@code index}, to a slot. */
+    private void bind(GanttTask t, int index) {
+        TaskStore owner = t.store();
+        if (owner != null) owner.release(t);        // moves the values back into t first
+        int slot = t.slot;
+        if (slot >= slots || handles[slot] != t || slotOrdered && !fitsAt(index, slot)) {
+            ensureCapacity(slots + 1);
+            slot = slots++;
+        }                                           // else t's own emptied slot, e.g. on undo
+        GanttTask.Values v = t.ownValues();
+        handles[slot] = t;
+        start[slot] = v.start;
+        end[slot] = v.end;
+        color[slot] = v.color;
+        assignee[slot] = intern(v.assignedTo);
+        title[slot] = v.title;
+        info[slot] = v.info;
+        t.bind(this, slot);                         // only now do readers switch to the slot
+        live++;
+        index(slot);
+    }
+
+    /**
+     * Gives {@code t} its values back and empties its slot.  The cells stay
+     * readable, and the slot remembers {@code t} so that re-adding it can
+     * take the slot back.
+     */
+    private void release(GanttTask t) {
+        int slot = t.slot;
+        if (listed[slot] > 0) slotOrdered = false;     // still listed here: moving to another store
+        GanttTask.Values v = new GanttTask.Values();
+        v.title = title[slot];
+        v.start = start[slot];
+        v.end = end[slot];
+        v.color = color[slot];
+        v.info = info[slot];
+        v.assignedTo = assignedTo(slot);
+        t.unbind(v);
+        unindex(slot);
+        edited.clear(slot);
+        live--;
+    }
+
+    /** Adds a bound slot to the bitmaps. */
+    private void index(int slot) {
+        liveSlots.set(slot);
+        int id = assignee[slot];
+        if (id != NO_NAME) {
+            while (byAssignee.size() <= id) byAssignee.add(null);
+            SlotSet b = byAssignee.get(id);
+            if (b == null) byAssignee.set(id, b = new SlotSet());
+            b.add(slot);
+        }
+        SlotSet c = byColor.get(color[slot]);
+        if (c == null) byColor.put(color[slot], c = new SlotSet());
+        c.add(slot);
+        int d = durationBucket(end[slot] - start[slot]);
+        if (byDuration[d] == null) byDuration[d] = new SlotSet();
+        byDuration[d].add(slot);
+        modCount++;
+    }
+
+    private void unindex(int slot) {
+        liveSlots.clear(slot);
+        int id = assignee[slot];
+        if (id != NO_NAME) byAssignee.get(id).remove(slot);
+        SlotSet c = byColor.get(color[slot]);
+        c.remove(slot);
+        if (c.isEmpty()) byColor.remove(color[slot]);
+        byDuration[durationBucket(end[slot] - start[slot])].remove(slot);
+        modCount++;
+    }
+
+    /** True if {@code slot} listed at {@code index} keeps the list in ascending slot order. */
+    private boolean fitsAt(int index, int slot) {
+        return (index == 0 || order.get(index - 1).slot < slot)
+                && (index == order.size() || order.get(index).slot > slot);
+    }
+
+    /** 0 for durations ≤ 0, else b with {@code 2^(b-1) ≤ d < 2^b}. */
+    private static int durationBucket(long d) {
+        return d <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(d);
+    }
+
+    private int intern(String name) {
+        if (name == null) return NO_NAME;
+        Integer id = nameIds.get(name);
+        if (id != null) return id;
+        if (nameCount == names.length) names = Arrays.copyOf(names, nameCount * 2);
+        names[nameCount] = name;
+        nameIds.put(name, nameCount);
+        return nameCount++;
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= handles.length) return;
+        int cap = Math.max(n, handles.length + (handles.length >> 1));
+        handles = Arrays.copyOf(handles, cap);
+        start = Arrays.copyOf(start, cap);
+        end = Arrays.copyOf(end, cap);
+        color = Arrays.copyOf(color, cap);
+        assignee = Arrays.copyOf(assignee, cap);
+        title = Arrays.copyOf(title, cap);
+        info = Arrays.copyOf(info, cap);
+        listed = Arrays.copyOf(listed, cap);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.ganttchartview.core.export;
+
+import com.example.ganttchartview.model.GanttTask;
+import com.example.ganttchartview.model.TimeScale;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Export with {@link CsvExportJob#write}, read back with
+ * {@link CsvImportJob#read}: cell quoting, localised digits, a leading BOM,
+ * and DAY / MONTH cells placed around the reference time.
+ */
+public class CsvRoundTripTest {
+
+    private Locale locale;
+    private TimeZone zone;
+
+    @Before
+    public void pinLocaleAndZone() {
+        locale = Locale.getDefault();
+        zone = TimeZone.getDefault();
+        Locale.setDefault(Locale.US);
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+    }
+
+    @After
+    public void restore() {
+        Locale.setDefault(locale);
+        TimeZone.setDefault(zone);
+    }
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        Calendar c = Calendar.getInstance();
+        c.clear();
+        c.set(year, month - 1, day, hour, minute);
+        return c.getTimeInMillis();
+    }
+
+    private static GanttTask task(String title, long start, long end, String who, String info) {
+        return new GanttTask(title, new Date(start), new Date(end), 0, info, who);
+    }
+
+    private static String export(List<GanttTask> tasks, TimeScale scale) throws Exception {
+        StringWriter w = new StringWriter();
+        assertTrue(CsvExportJob.write(w, new CsvExportJob.Rows(tasks), scale, () -> false, n -> { }));
+        return w.toString();
+    }
+
+    private static List<GanttTask> read(String csv, long referenceMs) throws Exception {
+        List<GanttTask> out = new ArrayList<>();
+        CsvImportJob.read(new StringReader(csv), referenceMs, () -> false, out::addAll);
+        return out;
+    }
+
+    private static void assertTask(GanttTask expected, long start, long end, GanttTask actual) {
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getAssignedTo(), actual.getAssignedTo());
+        assertEquals(expected.getInfo(), actual.getInfo());
+        assertEquals(new Date(start), actual.getStart());
+        assertEquals(new Date(end), actual.getEnd());
+    }
+
+    @Test
+    public void quoted_fields_survive_the_round_trip() throws Exception {
+        List<GanttTask> tasks = Arrays.asList(
+                task("Plan, \"draft\"", at(2024, 3, 4, 9, 0), at(2024, 3, 4, 17, 30), "Ann", "line one\r\nline two"),
+                task("a\nb", at(2024, 3, 5, 0, 0), at(2024, 3, 6, 23, 59), "Bob \"B\"", "\"\""),
+                task("x", at(2024, 3, 7, 8, 15), at(2024, 3, 7, 8, 15), "", ","));
+        List<GanttTask> back = read(export(tasks, TimeScale.HOUR), 0);
+        assertEquals(tasks.size(), back.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            GanttTask t = tasks.get(i);
+            assertTask(t, t.getStartMs(), t.getEndMs(), back.get(i));
+        }
+    }
+
+    @Test
+    public void localized_digits_are_read_back() throws Exception {
+        Locale.setDefault(Locale.forLanguageTag("ar-EG"));
+        GanttTask t = task("T", at(2024, 3, 4, 9, 5), at(2024, 3, 5, 23, 40), "Ann", "");
+        String csv = export(List.of(t), TimeScale.HOUR);
+        assertTrue(csv, csv.indexOf('٠') >= 0);                 // ARABIC-INDIC DIGIT ZERO
+        assertTrue(csv, csv.indexOf("09:05") < 0);
+
+        List<GanttTask> back = read(csv, 0);
+        assertEquals(1, back.size());
+        assertTask(t, t.getStartMs(), t.getEndMs(), back.get(0));
+    }
+
+    @Test
+    public void leading_bom_is_skipped() throws Exception {
+        GanttTask t = task("T", at(2024, 3, 4, 9, 0), at(2024, 3, 4, 10, 0), "Ann", "i");
+        List<GanttTask> back = read("﻿" + export(List.of(t), TimeScale.HOUR), 0);
+        assertEquals(1, back.size());
+        assertTask(t, t.getStartMs(), t.getEndMs(), back.get(0));
+    }
+
+    @Test
+    public void day_cells_land_in_the_reference_week() throws Exception {
+        long reference = at(2024, 3, 6, 12, 0);                         // Wednesday; US weeks start on Sunday
+        List<GanttTask> tasks = Arrays.asList(
+                task("a", at(2021, 7, 5, 9, 0), at(2021, 7, 5, 11, 30), "Ann", ""),      // Monday
+                task("b", at(2021, 7, 10, 22, 0), at(2021, 7, 11, 2, 0), "Ann", ""));    // Saturday → Sunday
+        List<GanttTask> back = read(export(tasks, TimeScale.DAY), reference);
+        assertEquals(2, back.size());
+        assertTask(tasks.get(0), at(2024, 3, 4, 9, 0), at(2024, 3, 4, 11, 30), back.get(0));
+        assertTask(tasks.get(1), at(2024, 3, 9, 22, 0), at(2024, 3, 10, 2, 0), back.get(1));    // end rolls a week on
+    }
+
+    @Test
+    public void month_cells_land_in_the_reference_year_at_midnight() throws Exception {
+        long reference = at(2023, 6, 1, 12, 0);
+        List<GanttTask> tasks = Arrays.asList(
+                task("a", at(2021, 3, 15, 10, 30), at(2021, 3, 20, 18, 45), "Ann", ""),  // time of day is dropped
+                task("b", at(2021, 12, 20, 9, 0), at(2022, 1, 5, 9, 0), "Ann", ""),     // crosses the year
+                task("c", at(2024, 2, 29, 9, 0), at(2024, 3, 1, 9, 0), "Ann", ""));     // leap day, 2023 has none
+        List<GanttTask> back = read(export(tasks, TimeScale.MONTH), reference);
+        assertEquals(3, back.size());
+        assertTask(tasks.get(0), at(2023, 3, 15, 0, 0), at(2023, 3, 20, 0, 0), back.get(0));
+        assertTask(tasks.get(1), at(2023, 12, 20, 0, 0), at(2024, 1, 5, 0, 0), back.get(1));
+        assertTask(tasks.get(2), at(2023, 2, 28, 0, 0), at(2023, 3, 1, 0, 0), back.get(2));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.ganttchartview.core.layout;
+
+import com.example.ganttchartview.model.GanttTask;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link TrackPacker#packSorted} must give exactly the tracks of the
+ * original first-fit scan it replaced.
+ */
+public class TrackPackerTest {
+
+    /** The original O(n · tracks) packer, kept verbatim as the reference. */
+    private static int[] baselineScan(List<GanttTask> sorted) {
+        List<Long> trackEnd = new ArrayList<>();
+        int[] out = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            GanttTask t = sorted.get(i);
+            int track = 0;
+            while (track < trackEnd.size()
+                    && t.getStart().getTime() <= trackEnd.get(track) + TrackPacker.EPS) {
+                track++;
+            }
+            if (track == trackEnd.size()) trackEnd.add(t.getEnd().getTime());
+            else                           trackEnd.set(track, t.getEnd().getTime());
+            out[i] = track;
+        }
+        return out;
+    }
+
+    private static GanttTask task(long start, long end) {
+        return new GanttTask("t", new Date(start), new Date(end), 0, "", "a");
+    }
+
+    private static List<GanttTask> sorted(List<GanttTask> tasks) {
+        tasks.sort(Comparator.comparingLong(GanttTask::getStartMs));     // stable: ties keep insertion order
+        return tasks;
+    }
+
+    @Test
+    public void eps_boundary() {
+        long e = TrackPacker.EPS;
+        List<GanttTask> tasks = sorted(new ArrayList<>(List.of(
+                task(0, 10_000),
+                task(10_000 + e, 20_000),            // exactly EPS after – still too close
+                task(10_000 + e + 1, 30_000),        // just past it – re-uses track 0
+                task(20_000 + e + 1, 20_000 + e + 1),   // zero length
+                task(20_000 + e + 1, 25_000))));     // same start as the zero-length one
+        int[] got = TrackPacker.packSorted(tasks);
+        assertArrayEquals(baselineScan(tasks), got);
+        assertArrayEquals(new int[]{0, 1, 0, 1, 2}, got);
+    }
+
+    @Test
+    public void empty() {
+        assertEquals(0, TrackPacker.packSorted(new ArrayList<>()).length);
+    }
+
+    @Test
+    public void matches_baseline_scan_randomized() {
+        Random r = new Random(0x7A5C);
+        long e = TrackPacker.EPS;
+        for (int round = 0; round < 2_000; round++) {
+            int n = 1 + r.nextInt(200);
+            int grid = 1 + r.nextInt(40);                       // few distinct starts → many ties
+            List<GanttTask> tasks = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                long start = r.nextInt(grid) * 5_000L;
+                long dur;
+                switch (r.nextInt(6)) {
+                    case 0:  dur = 0; break;                                    // zero length
+                    case 1:  dur = 5_000L * r.nextInt(4) - e; break;            // next start lands on end + EPS
+                    case 2:  dur = 5_000L * r.nextInt(4) - e - 1; break;        // ... or just past it
+                    case 3:  dur = 5_000L * r.nextInt(4) - e + 1; break;        // ... or just short of it
+                    case 4:  dur = -r.nextInt(3_000); break;                    // ends before it starts
+                    default: dur = r.nextInt(60_000); break;
+                }
+                tasks.add(task(start, start + dur));
+            }
+            sorted(tasks);
+            int[] expected = baselineScan(tasks);
+            assertArrayEquals("round " + round, expected, TrackPacker.packSorted(tasks));
+            long[] starts = new long[n], ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = tasks.get(i).getStartMs();
+                ends[i] = tasks.get(i).getEndMs();
+            }
+            assertArrayEquals("round " + round, expected, TrackPacker.packSorted(starts, ends));
+        }
+    }
+
+    @Test
+    public void pack_maps_every_task_to_its_track() {
+        Random r = new Random(11);
+        List<GanttTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long start = r.nextInt(100) * 1_000L;
+            tasks.add(task(start, start + r.nextInt(20_000)));
+        }
+        Map<GanttTask, Integer> trackOf = TrackPacker.pack(tasks);        // sorts in place
+        int[] expected = baselineScan(tasks);
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(expected[i], (int) trackOf.get(tasks.get(i)));
+        }
+    }
+}
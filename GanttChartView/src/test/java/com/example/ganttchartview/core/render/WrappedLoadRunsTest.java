@@ -0,0 +1,74 @@
+package com.example.ganttchartview.core.render;
+
+import com.example.ganttchartview.core.layout.TimeAxis;
+import com.example.ganttchartview.core.schedule.ResourceLoadEngine;
+import com.example.ganttchartview.model.GanttTask;
+import com.example.ganttchartview.model.TimeScale;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** {@link WrappedLoadRuns} against the profile mapped step by step onto a wrapping axis. */
+public class WrappedLoadRunsTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    private static GanttTask task(long start, long end) {
+        return new GanttTask("t", new Date(start), new Date(end), 0, "", "a");
+    }
+
+    /** Highest count of any busy step whose mapped span covers column {@code x}. */
+    private static int bruteForce(ResourceLoadEngine.Profile p, TimeAxis axis, float x) {
+        float[] seg = new float[2];
+        int best = 0;
+        for (int i = 0; i < p.size(); i++) {
+            axis.offsetAndSpan(p.getStartMs(i), p.getEndMs(i), seg);
+            float a = Math.max(0f, seg[0]), b = Math.min(axis.columnCount, seg[0] + seg[1]);
+            if (a <= x && x < b) best = Math.max(best, p.getCount(i));
+        }
+        return best;
+    }
+
+    private static int runAt(WrappedLoadRuns runs, float x) {
+        int i = runs.firstEndingAfter(x);
+        return i < runs.size && runs.start[i] <= x ? runs.count[i] : 0;
+    }
+
+    @Test
+    public void runs_are_the_highest_load_folded_onto_each_column() {
+        Random r = new Random(8);
+        TimeAxis axis = TimeAxis.fixed(TimeScale.HOUR, 8, 13);          // 08:00 – 20:59, wraps daily
+        for (int round = 0; round < 30; round++) {
+            ResourceLoadEngine e = new ResourceLoadEngine();
+            long day0 = 1_700_000_000_000L;
+            for (int i = 0; i < 60; i++) {
+                long s = day0 + r.nextInt(10) * 24 * HOUR + r.nextInt(24 * 4) * HOUR / 4;
+                e.add(task(s, s + (1 + r.nextInt(16)) * HOUR / 4));
+            }
+            ResourceLoadEngine.Profile p = e.profile("a");
+            WrappedLoadRuns runs = WrappedLoadRuns.of(p, axis);
+            assertTrue(runs.profile == p);
+
+            for (int i = 0; i < runs.size; i++) {
+                assertTrue(runs.start[i] < runs.end[i]);
+                if (i > 0) assertTrue(runs.end[i - 1] <= runs.start[i]);
+            }
+            for (float x = 0; x < axis.columnCount; x += 1 / 32f) {
+                assertEquals("round " + round + " at " + x, bruteForce(p, axis, x), runAt(runs, x));
+            }
+        }
+    }
+
+    @Test
+    public void empty_profile_has_no_runs() {
+        WrappedLoadRuns runs = WrappedLoadRuns.of(new ResourceLoadEngine().profile("a"),
+                TimeAxis.fixed(TimeScale.DAY, 0, 7));
+        assertEquals(0, runs.size);
+        assertEquals(0, runs.firstEndingAfter(0));
+    }
+}
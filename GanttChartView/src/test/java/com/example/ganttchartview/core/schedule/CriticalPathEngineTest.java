@@ -0,0 +1,206 @@
+package com.example.ganttchartview.core.schedule;
+
+import com.example.ganttchartview.model.Dependency;
+import com.example.ganttchartview.model.Dependency.Type;
+import com.example.ganttchartview.model.GanttTask;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link CriticalPathEngine}: link arithmetic, cycle rejection, and the
+ * incremental repairs against a schedule computed from scratch.
+ */
+public class CriticalPathEngineTest {
+
+    private static GanttTask task(String title, long start, long end) {
+        return new GanttTask(title, new Date(start), new Date(end), 0, "", null);
+    }
+
+    /** P [100, 110) → S [0, 5) with one link; expected S early start, project finish and S's slack (P's is 0). */
+    private static void assertLink(Type type, long lag, long sEs, long finish, long sSlack) {
+        GanttTask p = task("P", 100, 110), s = task("S", 0, 5);
+        CriticalPathEngine e = new CriticalPathEngine();
+        e.addTask(p);
+        e.addTask(s);
+        assertTrue(e.addDependency(new Dependency(p, s, type, lag)));
+        String what = type + " " + lag;
+        assertEquals(what, 100, e.getEarlyStartMs(p));
+        assertEquals(what, sEs, e.getEarlyStartMs(s));
+        assertEquals(what, sEs + 5, e.getEarlyFinishMs(s));
+        assertEquals(what, finish, e.getProjectFinishMs());
+        assertEquals(what, sSlack, e.getSlackMs(s));
+        assertEquals(what, 0, e.getSlackMs(p));
+        assertEquals(what, finish, e.getLateFinishMs(s));                  // nothing after S
+        assertEquals(what, finish - 5, e.getLateStartMs(s));
+    }
+
+    @Test
+    public void finish_to_start() {
+        assertLink(Type.FINISH_TO_START, 3, 113, 118, 0);
+        assertLink(Type.FINISH_TO_START, -4, 106, 111, 0);
+    }
+
+    @Test
+    public void start_to_start() {
+        assertLink(Type.START_TO_START, 3, 103, 110, 2);
+        assertLink(Type.START_TO_START, -4, 96, 110, 9);
+    }
+
+    @Test
+    public void finish_to_finish() {
+        assertLink(Type.FINISH_TO_FINISH, 3, 108, 113, 0);
+        assertLink(Type.FINISH_TO_FINISH, -4, 101, 110, 4);
+    }
+
+    @Test
+    public void start_to_finish() {
+        assertLink(Type.START_TO_FINISH, 3, 98, 110, 7);
+        assertLink(Type.START_TO_FINISH, -4, 91, 110, 14);
+    }
+
+    @Test
+    public void own_start_is_a_floor() {
+        GanttTask p = task("P", 0, 10), s = task("S", 50, 55);
+        CriticalPathEngine e = new CriticalPathEngine();
+        e.addTask(p);
+        e.addTask(s);
+        e.addDependency(new Dependency(p, s));
+        assertEquals(50, e.getEarlyStartMs(s));
+        assertEquals(40, e.getSlackMs(p));                          // must finish by 50
+        assertEquals(Collections.singletonList(s), e.getCriticalPath());
+    }
+
+    @Test
+    public void cycle_is_rejected_and_nothing_changes() {
+        GanttTask a = task("A", 0, 10), b = task("B", 0, 20), c = task("C", 0, 5);
+        CriticalPathEngine e = new CriticalPathEngine();
+        for (GanttTask t : Arrays.asList(a, b, c)) e.addTask(t);
+        e.addDependency(new Dependency(a, b));
+        e.addDependency(new Dependency(b, c, Type.START_TO_START, 2));
+        List<GanttTask> all = Arrays.asList(a, b, c);
+        long[] before = snapshot(e, all);
+
+        try {
+            e.addDependency(new Dependency(c, a));
+            fail("cycle accepted");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            e.addDependencies(Arrays.asList(new Dependency(a, c), new Dependency(c, a, Type.FINISH_TO_FINISH, 0)));
+            fail("cycle accepted");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(2, e.getDependencyCount());
+        assertEquals(1, e.getDependencies(c).size());
+        assertTrue(Arrays.equals(before, snapshot(e, all)));
+
+        assertTrue(e.addDependency(new Dependency(a, c)));          // order still consistent
+        assertEquals(12, e.getEarlyStartMs(c));                      // B starts at 10, + 2
+    }
+
+    @Test
+    public void removing_a_critical_task_releases_its_successors() {
+        GanttTask a = task("A", 0, 10), b = task("B", 0, 10), c = task("C", 0, 10), d = task("D", 0, 5);
+        CriticalPathEngine e = new CriticalPathEngine();
+        for (GanttTask t : Arrays.asList(a, b, c, d)) e.addTask(t);
+        e.addDependency(new Dependency(a, b));
+        e.addDependency(new Dependency(b, c));
+        assertEquals(30, e.getProjectFinishMs());
+        assertEquals(Arrays.asList(a, b, c), e.getCriticalPath());
+
+        e.removeTask(b);
+        assertFalse(e.contains(b));
+        assertEquals(0, e.getDependencyCount());
+        assertEquals(0, e.getEarlyStartMs(c));
+        assertEquals(10, e.getProjectFinishMs());
+        assertEquals(new HashSet<>(Arrays.asList(a, c)), new HashSet<>(e.getCriticalPath()));
+        assertEquals(5, e.getSlackMs(d));
+    }
+
+    @Test
+    public void incremental_matches_full_recompute_after_random_edits() {
+        Random r = new Random(0xC0FFEE);
+        Type[] types = Type.values();
+        for (int round = 0; round < 50; round++) {
+            CriticalPathEngine e = new CriticalPathEngine();
+            List<GanttTask> tasks = new ArrayList<>();
+            List<Dependency> links = new ArrayList<>();
+            int serial = 0;
+            for (int op = 0; op < 300; op++) {
+                int k = r.nextInt(10);
+                if (k < 2 || tasks.size() < 2) {
+                    long s = r.nextInt(100);
+                    GanttTask t = task("t" + serial++, s, s + r.nextInt(30));
+                    tasks.add(t);
+                    e.addTask(t);
+                } else if (k < 6) {
+                    GanttTask p = tasks.get(r.nextInt(tasks.size())), s = tasks.get(r.nextInt(tasks.size()));
+                    if (p == s) continue;
+                    Dependency d = new Dependency(p, s, types[r.nextInt(types.length)], r.nextInt(21) - 10);
+                    try {
+                        if (e.addDependency(d)) links.add(d);
+                    } catch (IllegalArgumentException cycle) {
+                        // rejected, nothing added
+                    }
+                } else if (k < 7 && !links.isEmpty()) {
+                    assertTrue(e.removeDependency(links.remove(r.nextInt(links.size()))));
+                } else if (k < 9) {
+                    GanttTask t = tasks.get(r.nextInt(tasks.size()));
+                    long s = r.nextInt(100);
+                    t.setStart(new Date(s));
+                    t.setEnd(new Date(s + r.nextInt(30)));
+                    e.taskChanged(t);
+                } else {
+                    GanttTask t = tasks.remove(r.nextInt(tasks.size()));
+                    e.removeTask(t);
+                    links.removeIf(d -> d.getPredecessor() == t || d.getSuccessor() == t);
+                }
+                assertEquals(links.size(), e.getDependencyCount());
+                assertSameSchedule("round " + round + " op " + op, fromScratch(tasks, links), e, tasks);
+            }
+        }
+    }
+
+    /** Fresh engine: one topological sort and one full forward / backward pass. */
+    private static CriticalPathEngine fromScratch(List<GanttTask> tasks, List<Dependency> links) {
+        CriticalPathEngine e = new CriticalPathEngine();
+        for (GanttTask t : tasks) e.addTask(t);
+        e.addDependencies(links);
+        return e;
+    }
+
+    private static void assertSameSchedule(String what, CriticalPathEngine expected, CriticalPathEngine actual,
+                                           List<GanttTask> tasks) {
+        assertEquals(what, expected.getProjectFinishMs(), actual.getProjectFinishMs());
+        for (GanttTask t : tasks) {
+            assertEquals(what, expected.getEarlyStartMs(t), actual.getEarlyStartMs(t));
+            assertEquals(what, expected.getLateFinishMs(t), actual.getLateFinishMs(t));
+            assertEquals(what, expected.getSlackMs(t), actual.getSlackMs(t));
+        }
+        assertEquals(what, new HashSet<>(expected.getCriticalPath()), new HashSet<>(actual.getCriticalPath()));
+    }
+
+    private static long[] snapshot(CriticalPathEngine e, List<GanttTask> tasks) {
+        long[] out = new long[tasks.size() * 2 + 1];
+        int i = 0;
+        for (GanttTask t : tasks) {
+            out[i++] = e.getEarlyStartMs(t);
+            out[i++] = e.getLateFinishMs(t);
+        }
+        out[i] = e.getProjectFinishMs();
+        return out;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.ganttchartview.core.schedule;
+
+import com.example.ganttchartview.model.GanttTask;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ResourceLoadEngine}: half-open intervals, zero-length tasks,
+ * lanes emptying out and capacity changes.
+ */
+public class ResourceLoadEngineTest {
+
+    private static GanttTask task(String who, long start, long end) {
+        return new GanttTask("t", new Date(start), new Date(end), 0, "", who);
+    }
+
+    @Test
+    public void touching_intervals_do_not_overlap() {
+        ResourceLoadEngine e = new ResourceLoadEngine();
+        e.add(task("a", 0, 10));
+        e.add(task("a", 10, 20));
+        ResourceLoadEngine.Profile p = e.profile("a");
+        assertEquals(1, p.size());
+        assertEquals(0, p.getStartMs(0));
+        assertEquals(20, p.getEndMs(0));
+        assertEquals(1, p.getPeak());
+        assertEquals(1, p.countAt(10));
+        assertEquals(0, p.countAt(20));              // end is exclusive
+        assertFalse(e.isOverloaded("a"));
+        assertTrue(e.overloadedKeys().isEmpty());
+    }
+
+    @Test
+    public void zero_length_tasks_take_no_time() {
+        ResourceLoadEngine e = new ResourceLoadEngine();
+        GanttTask point = task("a", 5, 5);
+        e.add(point);
+        assertEquals(0, e.profile("a").size());
+        assertEquals(0, e.profile("a").getPeak());
+
+        e.add(task("a", 0, 10));
+        e.add(task("a", 10, 10));                   // on the end boundary
+        assertEquals(1, e.profile("a").getPeak());
+        assertEquals(1, e.profile("a").countAt(5));
+        assertTrue(e.overloads("a").isEmpty());
+
+        e.remove(point);                             // lane keeps its other tasks
+        assertEquals(1, e.profile("a").size());
+    }
+
+    @Test
+    public void removing_the_last_task_drops_the_lane() {
+        ResourceLoadEngine e = new ResourceLoadEngine();
+        GanttTask x = task("a", 0, 10), y = task("a", 5, 15), z = task("b", 0, 5);
+        e.add(x);
+        e.add(y);
+        e.add(z);
+        assertEquals(Collections.singleton("a"), e.overloadedKeys());
+
+        e.remove(x);
+        assertTrue(e.overloadedKeys().isEmpty());
+        e.remove(y);
+        assertEquals(0, e.profile("a").size());
+        assertTrue(e.overloads("a").isEmpty());
+        assertFalse(e.isOverloaded("a"));
+        assertEquals(1, e.profile("b").getPeak());
+
+        e.add(task("a", 100, 110));                  // the lane comes back fresh
+        assertEquals(1, e.profile("a").size());
+        assertEquals(100, e.profile("a").getStartMs(0));
+    }
+
+    @Test
+    public void overloads_merge_contiguous_steps() {
+        ResourceLoadEngine e = new ResourceLoadEngine();
+        e.add(task("a", 0, 10));
+        e.add(task("a", 5, 15));
+        e.add(task("a", 6, 8));
+        e.add(task("a", 30, 40));
+        List<ResourceLoadEngine.Overload> o = e.overloads("a");
+        assertEquals(1, o.size());
+        assertEquals(5, o.get(0).startMs);
+        assertEquals(10, o.get(0).endMs);
+        assertEquals(3, o.get(0).peak);
+        ResourceLoadEngine.Profile p = e.profile("a");
+        assertEquals(0, p.getCount(p.indexAt(20)));             // idle gap: a step with count 0
+        assertEquals(-1, p.indexAt(40));                        // after the last end
+    }
+
+    @Test
+    public void capacity_change_updates_overloaded_keys() {
+        ResourceLoadEngine e = new ResourceLoadEngine();
+        e.add(task("a", 0, 10));
+        e.add(task("a", 5, 15));
+        e.add(task("b", 0, 10));
+        e.add(task("b", 2, 12));
+        e.add(task("b", 4, 14));
+        assertEquals(2, e.overloadedKeys().size());
+
+        e.setCapacity(2);
+        assertEquals(Collections.singleton("b"), e.overloadedKeys());
+        assertTrue(e.overloads("a").isEmpty());
+        assertEquals(1, e.overloads("b").size());
+
+        e.setCapacity(3);
+        assertTrue(e.overloadedKeys().isEmpty());
+        assertFalse(e.isOverloaded("b"));
+
+        e.setCapacity(1);
+        assertEquals(2, e.overloadedKeys().size());
+    }
+
+    @Test
+    public void update_moves_a_task_between_lanes() {
+        ResourceLoadEngine e = new ResourceLoadEngine();
+        GanttTask t = task("a", 0, 10);
+        e.add(t);
+        e.add(task("b", 5, 15));
+        t.setAssignedTo("b");
+        e.update(t);
+        assertEquals(0, e.profile("a").size());
+        assertEquals(Collections.singleton("b"), e.overloadedKeys());
+    }
+
+    @Test
+    public void profile_matches_brute_force_count() {
+        Random r = new Random(23);
+        ResourceLoadEngine e = new ResourceLoadEngine();
+        List<GanttTask> tasks = new ArrayList<>();
+        for (int op = 0; op < 2_000; op++) {
+            if (tasks.isEmpty() || r.nextInt(3) > 0) {
+                long s = r.nextInt(200);
+                GanttTask t = task("a", s, s + r.nextInt(40) - 5);   // some zero-length or reversed
+                tasks.add(t);
+                e.add(t);
+            } else {
+                e.remove(tasks.remove(r.nextInt(tasks.size())));
+            }
+            if (op % 50 != 0) continue;
+            ResourceLoadEngine.Profile p = e.profile("a");
+            int peak = 0;
+            for (long ms = -10; ms < 260; ms++) {
+                int n = 0;
+                for (GanttTask t : tasks) {
+                    if (t.getStartMs() <= ms && ms < t.getEndMs()) n++;
+                }
+                assertEquals("at " + ms, n, p.countAt(ms));
+                peak = Math.max(peak, n);
+            }
+            assertEquals(peak, p.getPeak());
+        }
+    }
+}
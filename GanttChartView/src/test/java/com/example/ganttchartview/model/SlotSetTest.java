@@ -0,0 +1,63 @@
+package com.example.ganttchartview.model;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** {@link SlotSet} against a plain {@link BitSet}, through both of its forms. */
+public class SlotSetTest {
+
+    private static void assertSame(String what, BitSet expected, SlotSet actual) {
+        assertEquals(what, expected, actual.toBitSet());
+        assertEquals(what, expected.cardinality(), actual.cardinality());
+        assertEquals(what, expected.isEmpty(), actual.isEmpty());
+        BitSet or = new BitSet();
+        or.set(1_000_000);
+        actual.orInto(or);
+        or.clear(1_000_000);
+        assertEquals(what, expected, or);
+        for (int from = 0; from < 5_000; from += 97) {
+            assertEquals(what + " next " + from, expected.nextSetBit(from), actual.next(from));
+        }
+    }
+
+    @Test
+    public void matches_bitset_while_switching_forms() {
+        Random r = new Random(5);
+        for (int round = 0; round < 40; round++) {
+            SlotSet set = new SlotSet();
+            BitSet model = new BitSet();
+            int span = round % 2 == 0 ? 200 : 4_000;        // dense and sparse key spaces
+            for (int op = 0; op < 3_000; op++) {
+                int slot = r.nextInt(span);
+                boolean grow = op < 1_500 ? r.nextInt(4) > 0 : r.nextInt(4) == 0;
+                if (grow) {
+                    set.add(slot);
+                    model.set(slot);
+                } else {
+                    set.remove(slot);
+                    model.clear(slot);
+                }
+                if (op % 100 == 0) assertSame("round " + round + " op " + op, model, set);
+            }
+            assertSame("round " + round, model, set);
+        }
+    }
+
+    @Test
+    public void appends_and_removes_everything() {
+        SlotSet set = new SlotSet();
+        for (int i = 0; i < 10_000; i += 3) set.add(i);
+        assertEquals(3_334, set.cardinality());
+        set.add(3);                                     // already present
+        assertEquals(3_334, set.cardinality());
+        for (int i = 0; i < 10_000; i += 3) set.remove(i);
+        assertTrue(set.isEmpty());
+        assertEquals(-1, set.next(0));
+        assertTrue(set.toBitSet().isEmpty());
+    }
+}
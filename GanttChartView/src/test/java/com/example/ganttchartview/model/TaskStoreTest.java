@@ -0,0 +1,184 @@
+package com.example.ganttchartview.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link TaskStore} against a plain list: the slot lookups used by
+ * {@link TaskStore#indexOf} / {@link TaskStore#remove} must agree with a
+ * linear scan, and values must survive every move.
+ */
+public class TaskStoreTest {
+
+    private static GanttTask task(int i) {
+        return new GanttTask("t" + i, new Date(i * 1_000L), new Date(i * 1_000L + 500), i % 5,
+                "", i % 3 == 0 ? null : "a" + i % 7);
+    }
+
+    private static void assertSameList(List<GanttTask> expected, TaskStore store) {
+        assertEquals(expected, store.asList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.indexOf(expected.get(i)), store.indexOf(expected.get(i)));
+        }
+    }
+
+    @Test
+    public void matches_list_under_random_edits() {
+        Random r = new Random(42);
+        TaskStore store = new TaskStore();
+        List<GanttTask> model = new ArrayList<>();
+        List<GanttTask> removed = new ArrayList<>();
+        for (int op = 0; op < 20_000; op++) {
+            int k = r.nextInt(10);
+            if (k < 4 || model.isEmpty()) {
+                GanttTask t = task(op);
+                store.add(t);
+                model.add(t);
+            } else if (k < 7) {
+                GanttTask t = model.get(r.nextInt(model.size()));
+                int idx = model.indexOf(t);
+                model.remove(idx);
+                assertEquals(idx, store.remove(t));
+                assertEquals(-1, store.indexOf(t));
+                removed.add(t);
+            } else if (k < 9 && !removed.isEmpty()) {          // undo: back to a nearby position
+                GanttTask t = removed.remove(r.nextInt(removed.size()));
+                int idx = r.nextInt(model.size() + 1);
+                store.add(idx, t);
+                model.add(idx, t);
+            } else if (store.isSparse()) {
+                assertTrue(store.compact());
+            }
+            if (op % 500 == 0) assertSameList(model, store);
+        }
+        assertSameList(model, store);
+        for (GanttTask t : model) {
+            int i = Integer.parseInt(t.getTitle().substring(1));
+            assertEquals(i * 1_000L, t.getStartMs());
+            assertEquals(i * 1_000L + 500, t.getEndMs());
+            assertSame(t, store.taskAt(store.slotOf(t)));
+        }
+    }
+
+    @Test
+    public void removed_task_keeps_its_values_and_gets_its_slot_back() {
+        TaskStore store = new TaskStore();
+        List<GanttTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) tasks.add(task(i));
+        store.addAll(tasks);
+        GanttTask t = tasks.get(2);
+        int slot = store.slotOf(t);
+
+        assertEquals(2, store.remove(t));
+        assertEquals(-1, store.slotOf(t));
+        assertNull(store.taskAt(slot));
+        t.setStart(new Date(123));
+        assertEquals(123, t.getStartMs());
+
+        store.add(2, t);
+        assertEquals(slot, store.slotOf(t));
+        assertEquals(2, store.indexOf(t));
+        assertEquals(123, t.getStartMs());
+    }
+
+    @Test
+    public void task_listed_twice_is_released_with_its_last_entry() {
+        TaskStore store = new TaskStore();
+        GanttTask a = task(1), b = task(2);
+        store.add(a);
+        store.add(b);
+        store.add(a);
+        assertEquals(0, store.remove(a));
+        assertTrue(store.slotOf(a) >= 0);
+        assertEquals(1, store.indexOf(a));
+        assertEquals(1, store.remove(a));
+        assertEquals(-1, store.slotOf(a));
+        assertEquals(-1, store.remove(a));
+    }
+
+    @Test
+    public void task_moved_to_another_store_stays_listed_in_the_first() {
+        TaskStore first = new TaskStore(), second = new TaskStore();
+        GanttTask a = task(1), b = task(2);
+        first.add(a);
+        first.add(b);
+        second.add(a);
+        assertEquals(-1, first.slotOf(a));
+        assertEquals(0, first.indexOf(a));
+        assertEquals(1_000L, a.getStartMs());
+        assertEquals(0, first.remove(a));
+        assertTrue(second.slotOf(a) >= 0);
+        assertEquals(0, first.indexOf(b));
+    }
+
+    @Test
+    public void in_place_edits_are_reported_once_and_survive_compaction() {
+        TaskStore store = new TaskStore();
+        List<GanttTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) tasks.add(task(i));
+        store.addAll(tasks);
+        assertTrue(store.takeEdited().isEmpty());
+
+        tasks.get(35).setStart(new Date(7));
+        tasks.get(36).setInfo("notes only");
+        tasks.get(37).setAssignedTo("z");
+        for (int i = 0; i < 30; i++) store.remove(tasks.get(i));
+        assertTrue(store.compact());
+
+        BitSet edited = store.takeEdited();
+        assertEquals(2, edited.cardinality());
+        assertTrue(edited.get(store.slotOf(tasks.get(35))));
+        assertTrue(edited.get(store.slotOf(tasks.get(37))));
+        assertTrue(store.takeEdited().isEmpty());
+    }
+
+    @Test
+    public void compact_waits_for_background_readers() throws InterruptedException {
+        TaskStore store = new TaskStore();
+        List<GanttTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) tasks.add(task(i));
+        store.addAll(tasks);
+        for (int i = 0; i < 30; i++) store.remove(tasks.get(i));
+        assertTrue(store.isSparse());
+
+        CountDownLatch reading = new CountDownLatch(1), done = new CountDownLatch(1);
+        Thread reader = new Thread(() -> {
+            Lock l = TaskStore.readerLock();
+            l.lock();
+            try {
+                reading.countDown();
+                done.await();
+            } catch (InterruptedException ignored) {
+            } finally {
+                l.unlock();
+            }
+        });
+        reader.start();
+        reading.await();
+        int mod = store.getModCount();
+        assertFalse(store.compact());
+        assertEquals(mod, store.getModCount());
+        done.countDown();
+        reader.join();
+
+        assertTrue(store.compact());
+        assertFalse(store.isSparse());
+        for (int i = 30; i < 40; i++) {
+            assertEquals(i - 30, store.slotOf(tasks.get(i)));
+            assertEquals(i * 1_000L, tasks.get(i).getStartMs());
+        }
+    }
+}
@@ -11,6 +11,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.ganttchartview.core.GanttChartView;
+import com.example.ganttchartview.core.export.CsvExportJob;
 import com.example.ganttchartview.core.export.ExportUtils;
 import com.example.ganttchartview.listener.OnTaskActionListener;
 import com.example.ganttchartview.model.GanttTask;
@@ -35,6 +36,7 @@ public class MainActivity extends AppCompatActivity {
 
     private boolean aliceFilterOn = false;
     private Uri     lastSaved;                         // for long-press share
+    private CsvExportJob csvJob;                       // running CSV export, if any
 
     /* ─── life-cycle ──────────────────────────────────────────── */
     @Override protected void onCreate(Bundle savedInstanceState) {
@@ -50,6 +52,11 @@ public class MainActivity extends AppCompatActivity {
         btnMode.callOnClick();
     }
 
+    @Override protected void onDestroy() {
+        if (csvJob != null) csvJob.cancel();          // drop callbacks into a dead activity
+        super.onDestroy();
+    }
+
     private void bindViews() {
         gantt        = findViewById(R.id.gantt);
 
@@ -84,8 +91,8 @@ public class MainActivity extends AppCompatActivity {
 
     private void wireExports() {
 
-        btnCsv.setOnClickListener(v -> saveCsv());
-        btnCsv.setOnLongClickListener(v -> { saveCsv(); share("text/csv"); return true; });
+        btnCsv.setOnClickListener(v -> saveCsv(false));
+        btnCsv.setOnLongClickListener(v -> { saveCsv(true); return true; });
 
         btnPdf.setOnClickListener(v -> savePdf());
         btnPdf.setOnLongClickListener(v -> { savePdf(); share("application/pdf"); return true; });
@@ -94,13 +101,26 @@ public class MainActivity extends AppCompatActivity {
         btnPng.setOnLongClickListener(v -> { savePng(); share("image/png"); return true; });
     }
 
-    private void saveCsv() {
+    private void saveCsv(boolean thenShare) {
+        if (csvJob != null && !csvJob.isDone()) csvJob.cancel();
         try {
-            lastSaved = ExportUtils.exportCsv(
+            csvJob = ExportUtils.exportCsvAsync(
                     this,                            // ctx
-                    gantt.getAllTasks(),             // data
-                    gantt.getTimeScale(),"tasks");                        // base file-name
-            toast("CSV saved to Documents/GanttExports");
+                    gantt.getAllTasks(),             // data (copied up front)
+                    gantt.getTimeScale(), "tasks",   // base file-name
+                    new CsvExportJob.Listener() {
+                        @Override public void onProgress(int written, int total) {
+                            btnCsv.setText(written * 100 / Math.max(1, total) + "%");
+                        }
+                        @Override public void onDone(Uri uri) {
+                            btnCsv.setText("CSV");
+                            lastSaved = uri;
+                            toast("CSV saved to Documents/GanttExports");
+                            if (thenShare) share("text/csv");
+                        }
+                        @Override public void onError(Exception e) { btnCsv.setText("CSV"); toast(e); }
+                        @Override public void onCancelled() { btnCsv.setText("CSV"); }
+                    });
         } catch (Exception e) { toast(e); }
     }
 